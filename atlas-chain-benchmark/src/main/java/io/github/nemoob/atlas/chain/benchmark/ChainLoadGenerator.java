@@ -0,0 +1,297 @@
+package io.github.nemoob.atlas.chain.benchmark;
+
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import io.github.nemoob.atlas.chain.core.executor.ChainExecutor;
+import io.github.nemoob.atlas.chain.core.executor.KeyAffinityExecutor;
+import io.github.nemoob.atlas.chain.core.limiter.RateLimitExceededException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * 责任链压测工具，通过ChainExecutor的异步执行入口对指定链持续施压，
+ * 统计吞吐量、延迟百分位、线程池队列深度和拒绝次数，用于根据实测数据确定线程池大小
+ * 线程池拒绝（RejectedExecutionException）和链路限流（RateLimitExceededException）都计入拒绝次数
+ *
+ * 使用示例：
+ * <pre>
+ * LoadOptions options = new LoadOptions();
+ * options.setTargetQps(2000);
+ * LoadReport report = new ChainLoadGenerator&lt;&gt;(executor, "user-process",
+ *     () -&gt; new HandlerContext&lt;&gt;(new UserRequest("u", "p"), null, new HashMap&lt;&gt;())).run(options);
+ * System.out.println(report.summary());
+ * </pre>
+ *
+ * @param <P> Param类型，表示请求参数
+ * @param <R> Response类型，表示响应结果
+ */
+@Slf4j
+public class ChainLoadGenerator<P, R> {
+    // 闭环模式下请求被拒绝后的退避时间范围
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    
+    private final ChainExecutor<P, R> chainExecutor;
+    private final String chainId;
+    // 每次调用都需要新的上下文，避免并发请求共享同一个attributes
+    private final Supplier<HandlerContext<P, R>> contextSupplier;
+
+    public ChainLoadGenerator(ChainExecutor<P, R> chainExecutor, String chainId,
+                              Supplier<HandlerContext<P, R>> contextSupplier) {
+        this.chainExecutor = chainExecutor;
+        this.chainId = chainId;
+        this.contextSupplier = contextSupplier;
+    }
+
+    /**
+     * 执行压测，阻塞直到压测和在途请求全部结束
+     * @param options 压测参数
+     * @return 压测报告
+     * @throws InterruptedException 等待过程中被中断
+     */
+    public LoadReport run(LoadOptions options) throws InterruptedException {
+        Recorder recorder = new Recorder();
+        QueueSampler sampler = new QueueSampler(chainExecutor.getExecutorService(),
+            chainExecutor.getKeyAffinityExecutor());
+
+        long start = System.nanoTime();
+        long measureStart = start + TimeUnit.MILLISECONDS.toNanos(options.getWarmUpMillis());
+        long end = measureStart + TimeUnit.MILLISECONDS.toNanos(options.getDurationMillis());
+        recorder.measureStart = measureStart;
+
+        ScheduledExecutorService samplerThread = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "chain-load-sampler");
+            t.setDaemon(true);
+            return t;
+        });
+        samplerThread.scheduleAtFixedRate(() -> {
+            if (System.nanoTime() >= measureStart) {
+                sampler.sample();
+            }
+        }, 0, Math.max(1, options.getSampleIntervalMillis()), TimeUnit.MILLISECONDS);
+
+        String mode;
+        try {
+            if (options.getTargetQps() > 0) {
+                mode = "open-loop " + options.getTargetQps() + " qps";
+                runOpenLoop(options.getTargetQps(), start, end, recorder);
+            } else {
+                mode = "closed-loop " + options.getConcurrency() + " threads";
+                runClosedLoop(options.getConcurrency(), end, recorder);
+            }
+            recorder.awaitDrain(TimeUnit.MILLISECONDS.toNanos(options.getDrainTimeoutMillis()));
+        } finally {
+            samplerThread.shutdownNow();
+        }
+
+        LoadReport report = recorder.toReport();
+        report.setChainId(chainId);
+        report.setMode(mode);
+        sampler.fill(report);
+        log.info("Load test finished for chain {}:{}{}", chainId, System.lineSeparator(), report.summary());
+        return report;
+    }
+
+    /**
+     * 开环模式：按计划时间匀速发起请求，延迟从计划发起时间起算，
+     * 即使发起线程因为CallerRunsPolicy等原因被阻塞，排队时间也会计入延迟
+     */
+    private void runOpenLoop(int targetQps, long start, long end, Recorder recorder) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / targetQps;
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            issue(intended, recorder);
+        }
+    }
+
+    /**
+     * 闭环模式：固定数量的调用方各自循环发起请求并等待结果，请求被拒绝时按指数退避后重试
+     */
+    private void runClosedLoop(int concurrency, long end, Recorder recorder) throws InterruptedException {
+        List<Thread> callers = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread t = new Thread(() -> {
+                long backoffNanos = MIN_BACKOFF_NANOS;
+                while (System.nanoTime() < end) {
+                    CompletableFuture<R> future = issue(System.nanoTime(), recorder);
+                    if (future == null) {
+                        // 被拒绝时退避后再发起，避免空转重试占用被测线程池的CPU并放大拒绝数
+                        LockSupport.parkNanos(backoffNanos);
+                        backoffNanos = Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+                        continue;
+                    }
+                    try {
+                        future.join();
+                        backoffNanos = MIN_BACKOFF_NANOS;
+                    } catch (CompletionException e) {
+                        // 失败已在回调中统计，被限流时同样退避
+                        if (isRejection(e.getCause())) {
+                            LockSupport.parkNanos(backoffNanos);
+                            backoffNanos = Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+                        } else {
+                            backoffNanos = MIN_BACKOFF_NANOS;
+                        }
+                    }
+                }
+            }, "chain-load-caller-" + i);
+            t.setDaemon(true);
+            callers.add(t);
+            t.start();
+        }
+        for (Thread t : callers) {
+            t.join();
+        }
+    }
+
+    private CompletableFuture<R> issue(long intended, Recorder recorder) {
+        boolean measured = intended >= recorder.measureStart;
+        if (measured) {
+            recorder.issued.increment();
+        }
+        recorder.inFlight.incrementAndGet();
+        CompletableFuture<R> future;
+        try {
+            future = chainExecutor.executeAsync(chainId, contextSupplier.get());
+        } catch (RejectedExecutionException | RateLimitExceededException e) {
+            recorder.inFlight.decrementAndGet();
+            if (measured) {
+                recorder.rejected.increment();
+            }
+            return null;
+        }
+        return future.whenComplete((r, t) -> recorder.complete(intended, measured, t));
+    }
+
+    /**
+     * 判断异常是否为请求被拒绝（线程池拒绝或链路限流），而不是处理者执行失败
+     */
+    private static boolean isRejection(Throwable t) {
+        Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        return cause instanceof RejectedExecutionException || cause instanceof RateLimitExceededException;
+    }
+
+    /**
+     * 请求结果记录器
+     */
+    private static class Recorder {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder issued = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicLong inFlight = new AtomicLong();
+        private final AtomicLong lastCompletion = new AtomicLong();
+        private volatile long measureStart;
+
+        void complete(long intended, boolean measured, Throwable error) {
+            long now = System.nanoTime();
+            if (measured) {
+                if (error != null && isRejection(error)) {
+                    // 被拒绝的请求没有执行，与提交时被拒绝一样不计入延迟
+                    rejected.increment();
+                } else {
+                    histogram.record(TimeUnit.NANOSECONDS.toMicros(now - intended));
+                    (error == null ? succeeded : failed).increment();
+                    lastCompletion.accumulateAndGet(now, Math::max);
+                }
+            }
+            inFlight.decrementAndGet();
+        }
+
+        void awaitDrain(long timeoutNanos) throws InterruptedException {
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(1);
+            }
+        }
+
+        LoadReport toReport() {
+            LoadReport report = new LoadReport();
+            long completed = succeeded.sum() + failed.sum();
+            report.setIssued(issued.sum());
+            report.setSucceeded(succeeded.sum());
+            report.setFailed(failed.sum());
+            report.setRejected(rejected.sum());
+            report.setUnfinished(inFlight.get());
+            long elapsed = lastCompletion.get() - measureStart;
+            report.setThroughput(elapsed > 0 ? completed * 1e9 / elapsed : 0);
+            report.setMeanLatency(histogram.getMean());
+            report.setP50Latency(histogram.getValueAtPercentile(50));
+            report.setP90Latency(histogram.getValueAtPercentile(90));
+            report.setP99Latency(histogram.getValueAtPercentile(99));
+            report.setP999Latency(histogram.getValueAtPercentile(99.9));
+            report.setMaxLatency(histogram.getMaxValue());
+            return report;
+        }
+    }
+
+    /**
+     * 队列深度采样器，统计线程池（ThreadPoolExecutor或ForkJoinPool）与按键分片通道中排队任务数之和
+     */
+    private static class QueueSampler {
+        private final ExecutorService pool;
+        private final KeyAffinityExecutor lanes;
+        private final AtomicInteger max = new AtomicInteger();
+        private final LongAdder sum = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+
+        QueueSampler(ExecutorService executorService, KeyAffinityExecutor keyAffinityExecutor) {
+            this.pool = executorService instanceof ThreadPoolExecutor || executorService instanceof ForkJoinPool
+                ? executorService : null;
+            this.lanes = keyAffinityExecutor;
+        }
+
+        void sample() {
+            if (pool == null && lanes == null) {
+                return;
+            }
+            long queued = 0;
+            if (pool instanceof ThreadPoolExecutor) {
+                queued += ((ThreadPoolExecutor) pool).getQueue().size();
+            } else if (pool instanceof ForkJoinPool) {
+                ForkJoinPool forkJoinPool = (ForkJoinPool) pool;
+                queued += forkJoinPool.getQueuedSubmissionCount() + forkJoinPool.getQueuedTaskCount();
+            }
+            if (lanes != null) {
+                for (int lane = 0; lane < lanes.getLaneCount(); lane++) {
+                    queued += lanes.getQueueSize(lane);
+                }
+            }
+            int depth = (int) Math.min(Integer.MAX_VALUE, queued);
+            max.accumulateAndGet(depth, Math::max);
+            sum.add(depth);
+            samples.increment();
+        }
+
+        void fill(LoadReport report) {
+            if (pool == null && lanes == null) {
+                return;
+            }
+            long count = samples.sum();
+            report.setMaxQueueDepth(max.get());
+            report.setMeanQueueDepth(count == 0 ? 0 : (double) sum.sum() / count);
+        }
+    }
+}
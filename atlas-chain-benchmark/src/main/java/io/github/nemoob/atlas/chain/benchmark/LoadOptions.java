@@ -0,0 +1,24 @@
+package io.github.nemoob.atlas.chain.benchmark;
+
+import lombok.Data;
+
+/**
+ * 压测参数配置类
+ * targetQps大于0时使用开环模式（按固定速率发起请求，不受响应快慢影响），
+ * 否则使用闭环模式（concurrency个并发调用方循环发起请求）
+ */
+@Data
+public class LoadOptions {
+    // 目标QPS，大于0时启用开环模式
+    private int targetQps = 0;
+    // 闭环模式下的并发调用方数量
+    private int concurrency = 10;
+    // 预热时长（毫秒），预热期间的数据不计入报告
+    private long warmUpMillis = 1000;
+    // 压测时长（毫秒）
+    private long durationMillis = 10000;
+    // 线程池队列深度采样间隔（毫秒）
+    private long sampleIntervalMillis = 10;
+    // 压测结束后等待在途请求完成的最长时间（毫秒）
+    private long drainTimeoutMillis = 30000;
+}
@@ -0,0 +1,55 @@
+package io.github.nemoob.atlas.chain.benchmark;
+
+import lombok.Data;
+
+/**
+ * 压测结果报告，延迟单位均为微秒
+ * 开环模式下延迟从请求的计划发起时间开始计算，已修正协调遗漏（coordinated omission）
+ */
+@Data
+public class LoadReport {
+    // 链ID
+    private String chainId;
+    // 压测模式描述，例如 "open-loop 1000 qps" 或 "closed-loop 10 threads"
+    private String mode;
+    // 统计窗口内发起的请求数
+    private long issued;
+    // 统计窗口内成功完成的请求数
+    private long succeeded;
+    // 统计窗口内执行失败的请求数
+    private long failed;
+    // 统计窗口内被线程池拒绝或被链路限流的请求数
+    private long rejected;
+    // 压测结束时仍未完成的请求数
+    private long unfinished;
+    // 吞吐量（每秒完成请求数）
+    private double throughput;
+    // 延迟统计
+    private double meanLatency;
+    private long p50Latency;
+    private long p90Latency;
+    private long p99Latency;
+    private long p999Latency;
+    private long maxLatency;
+    // 线程池和按键分片通道的排队任务数统计，无法采样时为-1
+    private int maxQueueDepth = -1;
+    private double meanQueueDepth = -1;
+
+    /**
+     * 生成可读的报告摘要
+     * @return 报告摘要
+     */
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("chain=%s mode=%s%n", chainId, mode));
+        sb.append(String.format("issued=%d succeeded=%d failed=%d rejected=%d unfinished=%d%n",
+            issued, succeeded, failed, rejected, unfinished));
+        sb.append(String.format("throughput=%.1f req/s%n", throughput));
+        sb.append(String.format("latency(us) mean=%.1f p50=%d p90=%d p99=%d p999=%d max=%d%n",
+            meanLatency, p50Latency, p90Latency, p99Latency, p999Latency, maxLatency));
+        if (maxQueueDepth >= 0) {
+            sb.append(String.format("queue depth mean=%.1f max=%d%n", meanQueueDepth, maxQueueDepth));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.nemoob.atlas.chain.benchmark;
+
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import io.github.nemoob.atlas.chain.core.executor.ChainExecutor;
+import io.github.nemoob.atlas.chain.core.executor.KeyAffinityExecutor;
+import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.limiter.TokenBucketRateLimiter;
+import io.github.nemoob.atlas.chain.core.registry.ChainRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * 压测工具测试类
+ */
+public class ChainLoadGeneratorTest {
+    private ChainRegistry<Integer, String> registry;
+    private ChainExecutor<Integer, String> chainExecutor;
+
+    @Before
+    public void setUp() {
+        registry = new ChainRegistry<>();
+        registry.registerHandler("echo", new BaseHandler<Integer, String>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, String> context) {
+                context.setResponse(String.valueOf(context.getRequest()));
+                return true;
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        chainExecutor.shutdown();
+    }
+
+    @Test
+    public void testRateLimitedRequestsAreCountedAsRejected() throws Exception {
+        chainExecutor = new ChainExecutor<>(registry);
+        chainExecutor.setRateLimiter("echo", new TokenBucketRateLimiter(50, 1));
+
+        LoadReport report = generator().run(options(1000));
+
+        assertTrue("rejected=" + report.getRejected(), report.getRejected() > 0);
+        assertEquals(0, report.getFailed());
+        assertEquals(report.getIssued(), report.getSucceeded() + report.getRejected() + report.getUnfinished());
+    }
+
+    @Test
+    public void testQueueDepthIsSampledForForkJoinPool() throws Exception {
+        ExecutorService pool = new ForkJoinPool(2);
+        chainExecutor = new ChainExecutor<>(registry, pool);
+
+        LoadReport report = generator().run(options(500));
+
+        assertTrue(report.getMaxQueueDepth() >= 0);
+        assertTrue(report.getMeanQueueDepth() >= 0);
+    }
+
+    @Test
+    public void testQueueDepthIsSampledForKeyAffinityLanes() throws Exception {
+        chainExecutor = new ChainExecutor<>(registry);
+        chainExecutor.setKeyAffinityExecutor(new KeyAffinityExecutor(2, 1000));
+        chainExecutor.setKeyExtractor("echo", request -> request);
+
+        LoadReport report = generator().run(options(500));
+
+        assertTrue(report.getMaxQueueDepth() >= 0);
+        assertEquals(0, report.getFailed());
+    }
+
+    private ChainLoadGenerator<Integer, String> generator() {
+        return new ChainLoadGenerator<>(chainExecutor, "echo", () -> new HandlerContext<>(1, null));
+    }
+
+    private static LoadOptions options(int targetQps) {
+        LoadOptions options = new LoadOptions();
+        options.setTargetQps(targetQps);
+        options.setWarmUpMillis(0);
+        options.setDurationMillis(300);
+        options.setDrainTimeoutMillis(5000);
+        return options;
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.nemoob.atlas.chain.benchmark;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 延迟直方图测试类
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testValuesBelow128AreExact() {
+        for (long value = 0; value < 128; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertEquals(value, index);
+            assertEquals(value, LatencyHistogram.valueOf(index));
+        }
+    }
+
+    @Test
+    public void testBucketEdges() {
+        // 128起每个子桶宽度为2
+        assertEquals(128, LatencyHistogram.indexOf(128));
+        assertEquals(128, LatencyHistogram.indexOf(129));
+        assertEquals(129, LatencyHistogram.valueOf(128));
+        assertEquals(129, LatencyHistogram.indexOf(130));
+
+        // 255是宽度为2的最后一个子桶的上界，256起子桶宽度为4
+        assertEquals(255, LatencyHistogram.valueOf(LatencyHistogram.indexOf(255)));
+        assertEquals(LatencyHistogram.indexOf(255) + 1, LatencyHistogram.indexOf(256));
+        assertEquals(259, LatencyHistogram.valueOf(LatencyHistogram.indexOf(256)));
+        assertEquals(LatencyHistogram.indexOf(256), LatencyHistogram.indexOf(259));
+        assertEquals(LatencyHistogram.indexOf(256) + 1, LatencyHistogram.indexOf(260));
+
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.valueOf(LatencyHistogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testBucketUpperBoundWithinRelativeError() {
+        Random random = new Random(42);
+        int previous = -1;
+        for (long value = 0; value < 100_000; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertTrue("index must not decrease at " + value, index >= previous);
+            previous = index;
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long value = 128 + (random.nextLong() & Long.MAX_VALUE) % (Long.MAX_VALUE - 128);
+            long upper = LatencyHistogram.valueOf(LatencyHistogram.indexOf(value));
+            assertTrue(upper >= value);
+            assertTrue("relative error too large for " + value, (double) (upper - value) / value <= 1.0 / 64);
+        }
+    }
+
+    @Test
+    public void testMaxValueCanBeRecorded() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(Long.MAX_VALUE, histogram.getMaxValue());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testPercentilesOfKnownDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getValueAtPercentile(99));
+
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(50, histogram.getValueAtPercentile(50));
+        assertEquals(90, histogram.getValueAtPercentile(90));
+        assertEquals(99, histogram.getValueAtPercentile(99));
+        assertEquals(100, histogram.getValueAtPercentile(100));
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    public void testPercentilesOfLargeValuesWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value);
+        }
+        assertWithin(50_000, histogram.getValueAtPercentile(50));
+        assertWithin(99_000, histogram.getValueAtPercentile(99));
+        assertWithin(99_900, histogram.getValueAtPercentile(99.9));
+        assertEquals(100_000, histogram.getValueAtPercentile(100));
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected ~" + expected + " but was " + actual,
+            actual >= expected && actual <= expected + expected / 64);
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.nemoob.atlas.chain.core.context;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 业务失败信息，用于处理者在不抛出异常的情况下表示业务拒绝（如参数校验不通过、余额不足等）
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChainFailure {
+    // 失败码
+    private String code;
+    // 失败描述
+    private String message;
+}
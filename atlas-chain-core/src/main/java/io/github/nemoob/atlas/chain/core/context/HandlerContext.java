@@ -2,7 +2,6 @@ package io.github.nemoob.atlas.chain.core.context;
 
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import lombok.AllArgsConstructor;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -13,7 +12,6 @@ import java.util.Map;
  * @param <R> Response类型，表示响应结果
  */
 @Data
-@AllArgsConstructor
 @NoArgsConstructor
 public class HandlerContext<P, R> {
     // 请求参数
@@ -24,6 +22,19 @@ public class HandlerContext<P, R> {
     // 比如一个节点处理的结果可以被后续节点使用
     // 使用Object类型以支持不同数据类型，但建议通过定义常量类来约束键名
     private Map<String, Object> attributes = new HashMap<>();
+    // 业务失败信息，为空表示未失败
+    private ChainFailure failure;
+    
+    public HandlerContext(P request, R response) {
+        this.request = request;
+        this.response = response;
+    }
+    
+    public HandlerContext(P request, R response, Map<String, Object> attributes) {
+        this.request = request;
+        this.response = response;
+        this.attributes = attributes;
+    }
     
     /**
      * 提供类型安全的属性获取方法
@@ -55,6 +66,24 @@ public class HandlerContext<P, R> {
         return attributes.remove(key);
     }
     
+    /**
+     * 标记业务失败，执行器会在当前处理者完成后中断责任链
+     * 用于表示可预期的业务拒绝，相比抛出异常没有构造堆栈和错误日志的开销
+     * @param code 失败码
+     * @param message 失败描述
+     */
+    public void fail(String code, String message) {
+        this.failure = new ChainFailure(code, message);
+    }
+    
+    /**
+     * 是否已标记业务失败
+     * @return true已失败
+     */
+    public boolean isFailed() {
+        return failure != null;
+    }
+    
     // 约束attributes键名的方式：
     // 1. 建议为每个业务领域定义常量类，例如：
     // public class AuthContextKeys {
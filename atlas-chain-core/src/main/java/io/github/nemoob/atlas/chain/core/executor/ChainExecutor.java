@@ -2,14 +2,23 @@ package io.github.nemoob.atlas.chain.core.executor;
 
 import io.github.nemoob.atlas.chain.core.context.HandlerContext;
 import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.limiter.RateLimitExceededException;
+import io.github.nemoob.atlas.chain.core.limiter.TokenBucketRateLimiter;
 import io.github.nemoob.atlas.chain.core.registry.ChainRegistry;
-import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
 
 /**
  * 责任链执行器，负责执行责任链
@@ -17,25 +26,81 @@ import java.util.concurrent.Executors;
  * @param <R> Response类型，表示响应结果
  */
 @Data
-@AllArgsConstructor
 public class ChainExecutor<P, R> {
     // 链注册器
     private ChainRegistry<P, R> chainRegistry;
     
     // 自定义线程池，用于异步执行
-    private ExecutorService executorService = Executors.newFixedThreadPool(10);
+    private ExecutorService executorService;
+    
+    // 每个链ID的异步执行优先级，未配置时为NORMAL
+    private Map<String, ChainPriority> chainPriorities = new ConcurrentHashMap<>();
+    
+    // 每个链ID的限流器，未配置的链不限流
+    private Map<String, TokenBucketRateLimiter> rateLimiters = new ConcurrentHashMap<>();
+    
+    // 按键分片的执行器，为空时不启用分片执行
+    private KeyAffinityExecutor keyAffinityExecutor;
+    
+    // 每个链ID的分片键提取函数，从请求参数中提取分片键
+    private Map<String, Function<P, ?>> keyExtractors = new ConcurrentHashMap<>();
+    
+    /**
+     * 使用默认线程池（固定10个线程）创建执行器
+     * @param chainRegistry 链注册器
+     */
+    public ChainExecutor(ChainRegistry<P, R> chainRegistry) {
+        this(chainRegistry, Executors.newFixedThreadPool(10));
+    }
+    
+    /**
+     * 使用指定线程池创建执行器
+     * @param chainRegistry 链注册器
+     * @param executorService 线程池
+     */
+    public ChainExecutor(ChainRegistry<P, R> chainRegistry, ExecutorService executorService) {
+        this.chainRegistry = chainRegistry;
+        this.executorService = executorService;
+    }
     
     /**
      * 同步执行责任链
      * @param chainId 链ID
      * @param context 处理上下文
      * @return 响应结果
-     * @throws Exception 执行异常
+     * @throws Exception 执行异常，链被限流时抛出RateLimitExceededException
      */
     public R execute(String chainId, HandlerContext<P, R> context) throws Exception {
+        // 链配置了限流器时先获取许可
+        if (!acquirePermit(chainId)) {
+            throw new RateLimitExceededException(chainId);
+        }
+        
+        return executeChain(chainId, context);
+    }
+    
+    /**
+     * 执行责任链，不经过限流，调用方已获取许可
+     */
+    private R executeChain(String chainId, HandlerContext<P, R> context) throws Exception {
         List<BaseHandler<P, R>> handlers = chainRegistry.buildChain(chainId);
         
         // 同步执行责任链
+        runHandlers(handlers, context);
+        
+        return context.getResponse();
+    }
+    
+    /**
+     * 按顺序执行一组处理者，execute和流水线模式的每个阶段共用此逻辑
+     * @param handlers 处理者列表
+     * @param context 处理上下文
+     * @param <P> Param类型
+     * @param <R> Response类型
+     * @return true表示全部执行完毕，false表示责任链被中断
+     * @throws Exception 处理者抛出的异常
+     */
+    static <P, R> boolean runHandlers(List<BaseHandler<P, R>> handlers, HandlerContext<P, R> context) throws Exception {
         for (BaseHandler<P, R> handler : handlers) {
             try {
                 // 判断是否跳过当前处理者
@@ -50,8 +115,8 @@ public class ChainExecutor<P, R> {
                 handler.onCompleted(context);
                 
                 // 判断是否继续执行下一个处理者
-                if (!shouldContinue) {
-                    break; // 明确返回false，中断责任链
+                if (!shouldContinue || context.isFailed()) {
+                    return false; // 明确返回false或标记了业务失败，中断责任链
                 }
             } catch (Exception e) {
                 // 执行错误回调
@@ -60,24 +125,172 @@ public class ChainExecutor<P, R> {
                 throw e;
             }
         }
-        
-        return context.getResponse();
+        return true;
     }
     
     /**
-     * 异步执行责任链，使用自定义线程池
+     * 异步执行责任链，使用自定义线程池，优先级取链ID配置的优先级
      * @param chainId 链ID
      * @param context 处理上下文
      * @return CompletableFuture异步结果
      */
     public CompletableFuture<R> executeAsync(String chainId, HandlerContext<P, R> context) {
+        return executeAsync(chainId, context, getChainPriority(chainId));
+    }
+    
+    /**
+     * 以指定优先级异步执行责任链
+     * 只有线程池为PriorityThreadPoolExecutor时优先级才生效，其他线程池按提交顺序执行
+     * 链配置了分片键提取函数且设置了keyAffinityExecutor时，按分片键进入对应通道执行，优先级不生效
+     * 执行失败时，get()抛出的ExecutionException和join()抛出的CompletionException的cause即为处理者抛出的原始异常
+     * 链配置了限流器时在调用线程上获取许可（BLOCK模式下调用线程等待），被限流时返回以RateLimitExceededException异常完成的结果，
+     * 不占用线程池的线程和队列
+     * 总是提交到线程池执行；处理者内部不要等待executeAsync的结果，线程池的线程全部在等待子链时会死锁，
+     * 嵌套调用子链请使用forkSubChain
+     * @param chainId 链ID
+     * @param context 处理上下文
+     * @param priority 优先级
+     * @return CompletableFuture异步结果
+     */
+    public CompletableFuture<R> executeAsync(String chainId, HandlerContext<P, R> context, ChainPriority priority) {
+        // 链配置了分片键时进入键对应的通道，保证同一键按提交顺序执行
+        Function<P, ?> keyExtractor = keyExtractors.get(chainId);
+        if (keyAffinityExecutor != null && keyExtractor != null) {
+            Object key = keyExtractor.apply(context.getRequest());
+            if (key != null) {
+                return executeAsyncByKey(chainId, context, key);
+            }
+        }
+        if (!acquirePermit(chainId)) {
+            return rateLimited(chainId);
+        }
+        return submitAsync(chainId, context, asyncExecutor(priority));
+    }
+    
+    /**
+     * 按分片键异步执行责任链，相同键的调用在同一通道内按提交顺序串行执行
+     * 限流规则与executeAsync相同，在调用线程上获取许可
+     * 总是进入键对应的通道排队，在通道线程内调用时也不会插队到该键已排队的任务之前
+     * 处理者内部不要阻塞等待executeAsyncByKey的结果：键属于当前通道时结果排在当前任务之后，等待必然死锁；
+     * 键属于其他通道时两条通道互相等待也会死锁，需要组合结果时使用thenApply等非阻塞方式
+     * @param chainId 链ID
+     * @param context 处理上下文
+     * @param key 分片键
+     * @return CompletableFuture异步结果
+     */
+    public CompletableFuture<R> executeAsyncByKey(String chainId, HandlerContext<P, R> context, Object key) {
+        if (keyAffinityExecutor == null) {
+            throw new IllegalStateException("KeyAffinityExecutor is not configured");
+        }
+        if (!acquirePermit(chainId)) {
+            return rateLimited(chainId);
+        }
+        return submitAsync(chainId, context, command -> keyAffinityExecutor.execute(key, command));
+    }
+    
+    /**
+     * 设置链ID的分片键提取函数，需要同时设置keyAffinityExecutor才生效
+     * @param chainId 链ID
+     * @param keyExtractor 分片键提取函数，返回null时该次调用不分片
+     */
+    public void setKeyExtractor(String chainId, Function<P, ?> keyExtractor) {
+        keyExtractors.put(chainId, keyExtractor);
+    }
+    
+    private CompletableFuture<R> submitAsync(String chainId, HandlerContext<P, R> context, Executor executor) {
         return CompletableFuture.supplyAsync(() -> {
             try {
-                return execute(chainId, context);
+                // 许可已在调用线程上获取
+                return executeChain(chainId, context);
             } catch (Exception e) {
-                throw new RuntimeException(e);
+                // 直接包装为CompletionException，避免supplyAsync再次包装
+                throw new CompletionException(e);
             }
-        }, executorService);
+        }, executor);
+    }
+    
+    /**
+     * 在处理者内部调用子链，返回的任务可通过join()获取结果；需要同步执行子链时直接调用execute即可
+     * 当前线程是本执行器ForkJoinPool的工作线程时，子链放入当前线程的工作队列，
+     * join()等待期间当前线程会窃取并执行排队的子链，嵌套层数不受线程数限制；
+     * 线程池为ForkJoinPool但当前线程不属于该池时提交到池中执行；
+     * 其他线程池下直接在当前线程执行
+     * @param chainId 子链ID
+     * @param context 子链处理上下文
+     * @return 子链任务
+     */
+    public ForkJoinTask<R> forkSubChain(String chainId, HandlerContext<P, R> context) {
+        ForkJoinTask<R> task = ForkJoinTask.adapt(() -> execute(chainId, context));
+        Thread current = Thread.currentThread();
+        if (current instanceof ForkJoinWorkerThread
+            && ((ForkJoinWorkerThread) current).getPool() == executorService) {
+            return task.fork();
+        }
+        if (executorService instanceof ForkJoinPool) {
+            return ((ForkJoinPool) executorService).submit(task);
+        }
+        task.quietlyInvoke();
+        return task;
+    }
+    
+    /**
+     * 设置链ID的异步执行优先级
+     * @param chainId 链ID
+     * @param priority 优先级
+     */
+    public void setChainPriority(String chainId, ChainPriority priority) {
+        chainPriorities.put(chainId, priority);
+    }
+    
+    /**
+     * 获取链ID的异步执行优先级
+     * @param chainId 链ID
+     * @return 优先级，未配置时为NORMAL
+     */
+    public ChainPriority getChainPriority(String chainId) {
+        return chainPriorities.getOrDefault(chainId, ChainPriority.NORMAL);
+    }
+    
+    /**
+     * 设置链ID的限流器
+     * @param chainId 链ID
+     * @param rateLimiter 限流器
+     */
+    public void setRateLimiter(String chainId, TokenBucketRateLimiter rateLimiter) {
+        rateLimiters.put(chainId, rateLimiter);
+    }
+    
+    /**
+     * 获取链ID的限流器，可用于查询许可数和拒绝数
+     * @param chainId 链ID
+     * @return 限流器，未配置时为null
+     */
+    public TokenBucketRateLimiter getRateLimiter(String chainId) {
+        return rateLimiters.get(chainId);
+    }
+    
+    /**
+     * 链配置了限流器时获取一个许可
+     * @param chainId 链ID
+     * @return true获取成功或未配置限流器，false被限流
+     */
+    private boolean acquirePermit(String chainId) {
+        TokenBucketRateLimiter rateLimiter = rateLimiters.get(chainId);
+        return rateLimiter == null || rateLimiter.acquire();
+    }
+    
+    private CompletableFuture<R> rateLimited(String chainId) {
+        CompletableFuture<R> future = new CompletableFuture<>();
+        future.completeExceptionally(new RateLimitExceededException(chainId));
+        return future;
+    }
+    
+    private Executor asyncExecutor(ChainPriority priority) {
+        if (executorService instanceof PriorityThreadPoolExecutor) {
+            PriorityThreadPoolExecutor priorityExecutor = (PriorityThreadPoolExecutor) executorService;
+            return command -> priorityExecutor.execute(command, priority);
+        }
+        return executorService;
     }
     
     /**
@@ -95,5 +308,8 @@ public class ChainExecutor<P, R> {
         if (executorService != null && !executorService.isShutdown()) {
             executorService.shutdown();
         }
+        if (keyAffinityExecutor != null) {
+            keyAffinityExecutor.shutdown();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+/**
+ * 异步执行优先级，仅在执行器线程池为PriorityThreadPoolExecutor时生效
+ */
+public enum ChainPriority {
+    /**
+     * 高优先级，适用于对延迟敏感的交互类请求
+     */
+    HIGH(0),
+    /**
+     * 普通优先级，默认值
+     */
+    NORMAL(1),
+    /**
+     * 低优先级，适用于批量、后台类请求
+     */
+    LOW(2);
+
+    // 优先级等级，数值越小越先执行
+    private final int level;
+
+    ChainPriority(int level) {
+        this.level = level;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+}
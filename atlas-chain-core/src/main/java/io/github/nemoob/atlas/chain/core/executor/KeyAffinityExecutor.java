@@ -0,0 +1,84 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按键分片的执行器，由N条单线程通道组成，相同键的任务总是进入同一通道，
+ * 因此同一键的任务按提交顺序串行执行，无需加锁；同一实体的数据也总在同一线程上处理，CPU缓存命中率更高
+ *
+ * 通道队列满时抛出RejectedExecutionException（不使用CallerRunsPolicy，否则会破坏同一键的执行顺序）
+ */
+public class KeyAffinityExecutor {
+    private final ThreadPoolExecutor[] lanes;
+
+    /**
+     * 创建通道数等于CPU核数、队列无界的执行器
+     */
+    public KeyAffinityExecutor() {
+        this(Runtime.getRuntime().availableProcessors(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param laneCount 通道数，小于等于0时取CPU核数
+     * @param laneQueueCapacity 每条通道的队列容量
+     */
+    public KeyAffinityExecutor(int laneCount, int laneQueueCapacity) {
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ThreadPoolExecutor[count];
+        for (int i = 0; i < count; i++) {
+            String name = "chain-lane-" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(laneQueueCapacity),
+                r -> {
+                    Thread t = new Thread(r, name);
+                    t.setDaemon(false);
+                    return t;
+                });
+        }
+    }
+
+    /**
+     * 提交任务到键对应的通道
+     * @param key 分片键，不能为null
+     * @param command 任务
+     */
+    public void execute(Object key, Runnable command) {
+        lanes[laneOf(key)].execute(command);
+    }
+
+    /**
+     * 计算键对应的通道序号
+     * @param key 分片键
+     * @return 通道序号
+     */
+    public int laneOf(Object key) {
+        int h = key.hashCode();
+        // 混合高位，避免hashCode低位分布不均导致通道倾斜
+        h ^= (h >>> 16);
+        return Math.floorMod(h, lanes.length);
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * 获取指定通道当前排队的任务数
+     * @param lane 通道序号
+     * @return 排队任务数
+     */
+    public int getQueueSize(int lane) {
+        return lanes[lane].getQueue().size();
+    }
+
+    /**
+     * 关闭所有通道
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 多生产者单消费者的无锁有界环形缓冲区，数组在创建时预分配
+ * 每个槽位带一个序号：生产者CAS占位tail后写入元素，再发布槽位序号；消费者看到槽位序号已发布才读取，
+ * 读取后把序号推进一圈，表示槽位可被下一圈的生产者复用
+ * offer可由任意线程并发调用，poll只能由同一个消费者线程调用
+ * @param <E> 元素类型
+ */
+class MpscRingBuffer<E> implements RingBuffer<E> {
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    // 消费者读取位置，只由消费者写入
+    private final PaddedSequence head = new PaddedSequence();
+    // 生产者占位位置，由生产者CAS推进
+    private final PaddedSequence tail = new PaddedSequence();
+
+    /**
+     * @param capacity 容量，向上取整为2的幂
+     */
+    MpscRingBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        while (true) {
+            long t = tail.get();
+            int index = (int) t & mask;
+            long diff = sequences.get(index) - t;
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    buffer[index] = e;
+                    // 有序写入，保证消费者看到槽位序号时元素已写入
+                    sequences.lazySet(index, t + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // 槽位还未被上一圈的消费者释放，缓冲区已满
+                return false;
+            }
+            // diff > 0：其他生产者已占用该位置，重新读取tail
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.get();
+        int index = (int) h & mask;
+        if (sequences.get(index) != h + 1) {
+            return null;
+        }
+        E e = (E) buffer[index];
+        buffer[index] = null;
+        sequences.lazySet(index, h + buffer.length);
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 填充到缓存行大小的序号，避免生产者和消费者的序号落在同一缓存行上互相失效（伪共享）
+ * cache字段供序号的写入方缓存对方的序号，与序号本身由同一线程写入，放在同一缓存行内
+ */
+@SuppressWarnings("unused")
+class PaddedSequence extends AtomicLong {
+    long cache;
+    // 填充字段，与value、cache合计64字节
+    private long p1, p2, p3, p4, p5, p6;
+
+    PaddedSequence() {
+    }
+
+    PaddedSequence(long initialValue) {
+        super(initialValue);
+    }
+}
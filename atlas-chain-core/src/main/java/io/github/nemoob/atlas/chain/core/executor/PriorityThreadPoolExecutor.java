@@ -0,0 +1,193 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import java.util.Collection;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 支持优先级的线程池，排队任务按优先级出队，同优先级按提交顺序出队
+ *
+ * 防饥饿：任务的排序键为 提交时间 + 优先级等级 * agingMillis，
+ * 即低一级的任务最多比高一级的任务多等待agingMillis，等待足够久的低优先级任务会排到新提交的高优先级任务之前
+ *
+ * 线程数固定为corePoolSize；queueCapacity为排队任务上限，由队列内部的计数器在入队时原子地保证，
+ * 超出后交由RejectedExecutionHandler处理
+ */
+public class PriorityThreadPoolExecutor extends ThreadPoolExecutor {
+    // 任务提交序号，用于同一排序键下保持FIFO
+    private final AtomicLong sequence = new AtomicLong();
+    private final long agingNanos;
+
+    public PriorityThreadPoolExecutor(int poolSize, long agingMillis) {
+        this(poolSize, Integer.MAX_VALUE, agingMillis, Executors.defaultThreadFactory(), new AbortPolicy());
+    }
+
+    public PriorityThreadPoolExecutor(int poolSize, int queueCapacity, long agingMillis,
+                                      ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+        super(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new BoundedPriorityQueue(queueCapacity),
+            threadFactory, handler);
+        this.agingNanos = TimeUnit.MILLISECONDS.toNanos(agingMillis);
+    }
+
+    /**
+     * 以普通优先级提交任务
+     * @param command 任务
+     */
+    @Override
+    public void execute(Runnable command) {
+        execute(command, ChainPriority.NORMAL);
+    }
+
+    /**
+     * 以指定优先级提交任务
+     * @param command 任务
+     * @param priority 优先级
+     */
+    public void execute(Runnable command, ChainPriority priority) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        PriorityTask task = command instanceof PriorityTask
+            ? (PriorityTask) command
+            : new PriorityTask(command, System.nanoTime() + priority.getLevel() * agingNanos,
+                sequence.getAndIncrement());
+        super.execute(task);
+    }
+
+    /**
+     * 有容量上限的优先级队列
+     * PriorityBlockingQueue本身无界，这里用计数器先占位再入队，并发提交时也不会超出容量；
+     * 队列满时offer返回false，ThreadPoolExecutor随即调用RejectedExecutionHandler
+     */
+    private static final class BoundedPriorityQueue extends PriorityBlockingQueue<Runnable> {
+        private final AtomicInteger count = new AtomicInteger();
+        private final int capacity;
+
+        BoundedPriorityQueue(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean offer(Runnable r) {
+            if (count.incrementAndGet() > capacity) {
+                count.decrementAndGet();
+                return false;
+            }
+            return super.offer(r);
+        }
+
+        /**
+         * PriorityBlockingQueue.put不声明InterruptedException，无法可中断地等待空位，
+         * 队列满时与add一致抛出IllegalStateException，不会静默丢弃任务
+         */
+        @Override
+        public void put(Runnable r) {
+            add(r);
+        }
+
+        @Override
+        public boolean offer(Runnable r, long timeout, TimeUnit unit) {
+            return offer(r);
+        }
+
+        @Override
+        public boolean add(Runnable r) {
+            if (!offer(r)) {
+                throw new IllegalStateException("Queue full");
+            }
+            return true;
+        }
+
+        @Override
+        public Runnable take() throws InterruptedException {
+            return removed(super.take());
+        }
+
+        @Override
+        public Runnable poll() {
+            return removed(super.poll());
+        }
+
+        @Override
+        public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+            return removed(super.poll(timeout, unit));
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            boolean removed = super.remove(o);
+            if (removed) {
+                count.decrementAndGet();
+            }
+            return removed;
+        }
+
+        @Override
+        public int drainTo(Collection<? super Runnable> c) {
+            return drainTo(c, Integer.MAX_VALUE);
+        }
+
+        @Override
+        public int drainTo(Collection<? super Runnable> c, int maxElements) {
+            int drained = super.drainTo(c, maxElements);
+            count.addAndGet(-drained);
+            return drained;
+        }
+
+        @Override
+        public void clear() {
+            Runnable r;
+            while ((r = poll()) != null) {
+                // poll中已扣减计数
+            }
+        }
+
+        @Override
+        public int remainingCapacity() {
+            return Math.max(0, capacity - count.get());
+        }
+
+        private Runnable removed(Runnable r) {
+            if (r != null) {
+                count.decrementAndGet();
+            }
+            return r;
+        }
+    }
+
+    /**
+     * 带排序键的任务包装类
+     */
+    private static final class PriorityTask implements Runnable, Comparable<PriorityTask> {
+        private final Runnable delegate;
+        private final long deadline;
+        private final long seq;
+
+        PriorityTask(Runnable delegate, long deadline, long seq) {
+            this.delegate = delegate;
+            this.deadline = deadline;
+            this.seq = seq;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+
+        @Override
+        public int compareTo(PriorityTask other) {
+            // nanoTime可能为负数，使用差值比较
+            long diff = deadline - other.deadline;
+            if (diff != 0) {
+                return diff < 0 ? -1 : 1;
+            }
+            return Long.compare(seq, other.seq);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+/**
+ * 流水线阶段之间使用的有界环形缓冲区，只有一个消费者线程
+ * @param <E> 元素类型
+ */
+interface RingBuffer<E> {
+
+    /**
+     * 写入元素
+     * @param e 元素
+     * @return false表示缓冲区已满
+     */
+    boolean offer(E e);
+
+    /**
+     * 读取元素，只能由消费者线程调用
+     * @return 元素，缓冲区为空时返回null
+     */
+    E poll();
+
+    /**
+     * 判断缓冲区是否为空，生产者已占位但尚未写完的元素也视为非空
+     * @return true表示为空
+     */
+    boolean isEmpty();
+}
@@ -0,0 +1,64 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+/**
+ * 单生产者单消费者的无锁环形缓冲区，数组在创建时预分配
+ * offer只能由同一个生产者线程调用，poll只能由同一个消费者线程调用
+ * @param <E> 元素类型
+ */
+class SpscRingBuffer<E> implements RingBuffer<E> {
+    private final Object[] buffer;
+    private final int mask;
+    // 消费者读取位置，只由消费者写入；cache为消费者缓存的tail，减少对共享变量的读取
+    private final PaddedSequence head = new PaddedSequence();
+    // 生产者写入位置，只由生产者写入；cache为生产者缓存的head
+    private final PaddedSequence tail = new PaddedSequence();
+
+    /**
+     * @param capacity 容量，向上取整为2的幂
+     */
+    SpscRingBuffer(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        long t = tail.get();
+        if (t - tail.cache >= buffer.length) {
+            tail.cache = head.get();
+            if (t - tail.cache >= buffer.length) {
+                return false;
+            }
+        }
+        buffer[(int) t & mask] = e;
+        // 有序写入，保证消费者看到新的tail时元素已写入
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long h = head.get();
+        if (h >= head.cache) {
+            head.cache = tail.get();
+            if (h >= head.cache) {
+                return null;
+            }
+        }
+        int index = (int) h & mask;
+        E e = (E) buffer[index];
+        buffer[index] = null;
+        head.lazySet(h + 1);
+        return e;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 流水线阶段线程在环形缓冲区为空（或下游已满）时的等待策略
+ */
+public enum WaitStrategy {
+    /**
+     * 忙等，延迟最低，但会持续占满一个CPU核
+     */
+    BUSY_SPIN {
+        @Override
+        public void idle(int idleCount) {
+            // 空循环
+        }
+    },
+    /**
+     * 让出CPU，延迟较低，CPU占用随负载变化
+     */
+    YIELD {
+        @Override
+        public void idle(int idleCount) {
+            Thread.yield();
+        }
+    },
+    /**
+     * 挂起线程，连续空闲时挂起时间从1微秒起倍增，最长1毫秒，CPU占用最低，空闲后第一个请求的延迟最高
+     */
+    PARK {
+        @Override
+        public void idle(int idleCount) {
+            // 计数溢出为负数时按最长时间挂起
+            long nanos = idleCount >= 0 && idleCount < 10 ? MIN_PARK_NANOS << idleCount : MAX_PARK_NANOS;
+            LockSupport.parkNanos(nanos);
+        }
+    };
+
+    private static final long MIN_PARK_NANOS = 1000;
+    private static final long MAX_PARK_NANOS = 1000_000;
+
+    /**
+     * 执行一次等待
+     * @param idleCount 连续空闲的次数，从0开始，取到元素后由调用方重置
+     */
+    public abstract void idle(int idleCount);
+}
@@ -1,6 +1,8 @@
 package io.github.nemoob.atlas.chain.core.handler;
 
 import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -10,6 +12,11 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public abstract class BaseHandler<P, R> {
+    // 错误日志限流器，为空时每次出错都输出完整堆栈
+    @Getter
+    @Setter
+    private volatile ErrorLogLimiter errorLogLimiter;
+    
     /**
      * 子类必须实现的业务逻辑方法
      * 返回true表示继续执行下一个处理者，false表示中断链，不再执行后续节点
@@ -43,7 +50,12 @@ public abstract class BaseHandler<P, R> {
      * @param e 异常信息
      */
     public void onError(HandlerContext<P, R> context, Exception e) {
-        // 默认空实现
+        // 默认只输出日志，配置了限流器时按限流规则输出
+        ErrorLogLimiter limiter = errorLogLimiter;
+        if (limiter != null) {
+            limiter.logError(log, this.getClass().getSimpleName(), e);
+            return;
+        }
         log.error("Handler error in {}: {}", this.getClass().getSimpleName(), e.getMessage(), e);
     }
 }
\ No newline at end of file
@@ -0,0 +1,191 @@
+package io.github.nemoob.atlas.chain.core.handler;
+
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 错误日志限流器，按 处理者 + 异常类型 去重限流，避免故障期间大量重复的堆栈日志占用CPU和磁盘
+ * 每个统计周期内：第一条错误输出完整堆栈，之后最多再输出maxPerInterval-1条不带堆栈的错误信息，其余只计数；
+ * 周期结束后输出该周期被抑制的条数，由后台线程定时检查，错误停止后也不会丢失汇总
+ */
+public class ErrorLogLimiter {
+    private final int maxPerInterval;
+    private final long intervalNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    // 定时输出已结束周期的汇总
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * @param maxPerInterval 每个周期内每种错误最多输出的日志条数
+     * @param intervalMillis 统计周期（毫秒）
+     */
+    public ErrorLogLimiter(int maxPerInterval, long intervalMillis) {
+        this.maxPerInterval = Math.max(1, maxPerInterval);
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "atlas-chain-error-log-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1, intervalMillis);
+        flusher.scheduleWithFixedDelay(this::flush, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 按限流规则输出错误日志
+     * @param logger 日志对象
+     * @param handlerName 处理者名称
+     * @param e 异常信息
+     */
+    public void logError(Logger logger, String handlerName, Exception e) {
+        Entry entry = entries.computeIfAbsent(key(handlerName, e.getClass()),
+            k -> new Entry(logger, handlerName, e.getClass().getName()));
+        int count = entry.record(System.nanoTime());
+
+        if (count == 1) {
+            logger.error("Handler error in {}: {}", handlerName, e.getMessage(), e);
+        } else if (count <= maxPerInterval) {
+            logger.error("Handler error in {}: {} ({})", handlerName, e.getMessage(), e.getClass().getName());
+        }
+    }
+
+    /**
+     * 结束所有已到期的统计周期，并输出各周期被抑制的条数
+     * 后台线程每个周期调用一次，一般无需手动调用
+     */
+    public void flush() {
+        long now = System.nanoTime();
+        for (Entry entry : entries.values()) {
+            entry.current(now);
+        }
+    }
+
+    /**
+     * 获取当前周期内被抑制的日志条数
+     * @param handlerName 处理者名称
+     * @param exceptionType 异常类型
+     * @return 被抑制的条数
+     */
+    public long getSuppressedCount(String handlerName, Class<? extends Exception> exceptionType) {
+        Entry entry = entries.get(key(handlerName, exceptionType));
+        return entry == null ? 0 : entry.window.get().suppressed.get();
+    }
+
+    /**
+     * 停止后台汇总线程，等待正在进行的汇总完成后输出尚未结束周期的汇总
+     */
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long now = System.nanoTime();
+        for (Entry entry : entries.values()) {
+            entry.rollOver(entry.window.get(), now);
+        }
+    }
+
+    private static String key(String handlerName, Class<?> exceptionType) {
+        return handlerName + '#' + exceptionType.getName();
+    }
+
+    /**
+     * 单种错误的统计信息
+     */
+    private final class Entry {
+        private final Logger logger;
+        private final String handlerName;
+        private final String exceptionType;
+        private final AtomicReference<Window> window;
+
+        Entry(Logger logger, String handlerName, String exceptionType) {
+            this.logger = logger;
+            this.handlerName = handlerName;
+            this.exceptionType = exceptionType;
+            this.window = new AtomicReference<>(new Window(System.nanoTime()));
+        }
+
+        /**
+         * 在当前周期内记录一次错误，超出条数上限时计入抑制数
+         * 先登记为写入方再确认周期仍是当前周期，确认后的写入一定发生在该周期被汇总之前
+         * @return 本次错误在当前周期内的序号
+         */
+        int record(long now) {
+            while (true) {
+                Window w = current(now);
+                w.writers.incrementAndGet();
+                try {
+                    if (window.get() != w) {
+                        // 登记前周期已被替换，改为写入新周期
+                        continue;
+                    }
+                    int count = w.count.incrementAndGet();
+                    if (count > maxPerInterval) {
+                        w.suppressed.incrementAndGet();
+                    }
+                    return count;
+                } finally {
+                    w.writers.decrementAndGet();
+                }
+            }
+        }
+
+        /**
+         * 获取当前周期，已到期时整体替换为新周期，计数和抑制数随新对象一起归零，不存在只重置了一半的状态
+         */
+        Window current(long now) {
+            Window w = window.get();
+            if (now - w.start < intervalNanos) {
+                return w;
+            }
+            rollOver(w, now);
+            return window.get();
+        }
+
+        /**
+         * 用新周期替换指定周期，替换成功时输出旧周期的汇总
+         */
+        void rollOver(Window w, long now) {
+            if (window.compareAndSet(w, new Window(now))) {
+                report(w, now);
+            }
+        }
+
+        private void report(Window w, long now) {
+            // 替换后不会再有新的写入方进入旧周期，等待已登记的写入方完成，避免汇总后才到达的抑制数丢失
+            while (w.writers.get() > 0) {
+                Thread.yield();
+            }
+            long suppressed = w.suppressed.get();
+            if (suppressed > 0) {
+                logger.warn("Handler error in {}: suppressed {} repeated {} in the last {} ms",
+                    handlerName, suppressed, exceptionType, TimeUnit.NANOSECONDS.toMillis(now - w.start));
+            }
+        }
+    }
+
+    /**
+     * 统计周期
+     */
+    private static final class Window {
+        private final long start;
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong suppressed = new AtomicLong();
+        // 正在写入本周期的线程数
+        private final AtomicInteger writers = new AtomicInteger();
+
+        Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.nemoob.atlas.chain.core.limiter;
+
+import lombok.Getter;
+
+/**
+ * 链被限流时抛出的异常
+ * 限流通常发生在高负载期间，因此不填充堆栈，降低异常构造开销
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+    // 被限流的链ID
+    private final String chainId;
+
+    public RateLimitExceededException(String chainId) {
+        super("Rate limit exceeded for chain " + chainId, null, false, false);
+        this.chainId = chainId;
+    }
+}
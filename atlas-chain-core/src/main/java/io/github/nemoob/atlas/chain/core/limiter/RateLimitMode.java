@@ -0,0 +1,15 @@
+package io.github.nemoob.atlas.chain.core.limiter;
+
+/**
+ * 限流模式
+ */
+public enum RateLimitMode {
+    /**
+     * 没有可用许可时立即拒绝
+     */
+    REJECT,
+    /**
+     * 没有可用许可时等待，超过等待时间仍无许可则拒绝
+     */
+    BLOCK
+}
@@ -0,0 +1,118 @@
+package io.github.nemoob.atlas.chain.core.limiter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 无锁令牌桶限流器
+ * 采用GCRA（通用信元速率算法）实现令牌桶语义：只维护一个"理论到达时间"，通过CAS更新，不使用任何锁，
+ * 以permitsPerSecond的速率补充许可，最多允许burst个许可的突发
+ */
+public class TokenBucketRateLimiter {
+    private final double permitsPerSecond;
+    private final int burst;
+    private final RateLimitMode mode;
+    private final long timeoutNanos;
+    // 每个许可的间隔（纳秒）
+    private final long intervalNanos;
+    // 允许的突发容量（纳秒）
+    private final long burstNanos;
+    // 理论到达时间：下一个许可按匀速发放时的时间点
+    private final AtomicLong theoreticalArrival;
+    private final LongAdder permitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * 创建立即拒绝模式的限流器
+     * @param permitsPerSecond 每秒许可数
+     * @param burst 突发许可数
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, RateLimitMode.REJECT, 0);
+    }
+
+    /**
+     * @param permitsPerSecond 每秒许可数
+     * @param burst 突发许可数，最小为1
+     * @param mode 限流模式
+     * @param timeoutMillis BLOCK模式下的最长等待时间（毫秒）
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst, RateLimitMode mode, long timeoutMillis) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.mode = mode;
+        this.timeoutNanos = mode == RateLimitMode.BLOCK ? TimeUnit.MILLISECONDS.toNanos(timeoutMillis) : 0;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.burstNanos = intervalNanos * (this.burst - 1);
+        // 初始状态桶是满的
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * 按配置的限流模式获取一个许可
+     * @return true获取成功，false被限流
+     */
+    public boolean acquire() {
+        return tryAcquire(timeoutNanos);
+    }
+
+    /**
+     * 获取一个许可，最多等待指定时间
+     * @param timeoutNanos 最长等待时间（纳秒），0表示不等待
+     * @return true获取成功，false被限流
+     */
+    public boolean tryAcquire(long timeoutNanos) {
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            // 桶满时理论到达时间不早于 now - burstNanos，避免长时间空闲后累积超过burst的许可
+            long base = tat - (now - burstNanos) < 0 ? now - burstNanos : tat;
+            long waitNanos = base - now;
+            if (waitNanos > timeoutNanos) {
+                rejected.increment();
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(tat, base + intervalNanos)) {
+                permitted.increment();
+                // 已预占许可，等待到许可发放时间
+                if (waitNanos > 0) {
+                    LockSupport.parkNanos(waitNanos);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 获取已发放的许可数
+     * @return 许可数
+     */
+    public long getPermittedCount() {
+        return permitted.sum();
+    }
+
+    /**
+     * 获取被拒绝的请求数
+     * @return 拒绝数
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public RateLimitMode getMode() {
+        return mode;
+    }
+}
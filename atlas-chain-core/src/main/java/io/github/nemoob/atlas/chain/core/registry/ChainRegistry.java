@@ -1,6 +1,7 @@
 package io.github.nemoob.atlas.chain.core.registry;
 
 import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.handler.ErrorLogLimiter;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -21,15 +22,34 @@ public class ChainRegistry<P, R> {
     // 存储每个链ID对应的处理者列表
     private Map<String, List<BaseHandler<P, R>>> handlerMap = new HashMap<>();
     
+    // 错误日志限流器，设置后应用到所有已注册和之后注册的处理者
+    private ErrorLogLimiter errorLogLimiter;
+    
     /**
      * 注册处理者
      * @param chainId 链ID
      * @param handler 处理者
      */
     public void registerHandler(String chainId, BaseHandler<P, R> handler) {
+        if (errorLogLimiter != null && handler.getErrorLogLimiter() == null) {
+            handler.setErrorLogLimiter(errorLogLimiter);
+        }
         handlerMap.computeIfAbsent(chainId, k -> new ArrayList<>()).add(handler);
     }
     
+    /**
+     * 设置错误日志限流器，并应用到所有已注册的处理者
+     * @param errorLogLimiter 错误日志限流器
+     */
+    public void setErrorLogLimiter(ErrorLogLimiter errorLogLimiter) {
+        this.errorLogLimiter = errorLogLimiter;
+        for (List<BaseHandler<P, R>> handlers : handlerMap.values()) {
+            for (BaseHandler<P, R> handler : handlers) {
+                handler.setErrorLogLimiter(errorLogLimiter);
+            }
+        }
+    }
+    
     /**
      * 构建指定链ID的责任链
      * @param chainId 链ID
@@ -0,0 +1,209 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import io.github.nemoob.atlas.chain.core.context.ChainFailure;
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.limiter.RateLimitExceededException;
+import io.github.nemoob.atlas.chain.core.limiter.TokenBucketRateLimiter;
+import io.github.nemoob.atlas.chain.core.registry.ChainRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 责任链执行器测试类
+ */
+public class ChainExecutorTest {
+    private ChainRegistry<Integer, Integer> registry;
+    private ChainExecutor<Integer, Integer> chainExecutor;
+
+    @Before
+    public void setUp() {
+        registry = new ChainRegistry<>();
+        // 请求为嵌套深度，每层并行调用两个下一层子链并汇总结果，叶子节点返回1
+        registry.registerHandler("tree", new BaseHandler<Integer, Integer>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, Integer> context) {
+                int depth = context.getRequest();
+                if (depth == 0) {
+                    context.setResponse(1);
+                    return true;
+                }
+                ForkJoinTask<Integer> left = chainExecutor.forkSubChain("tree", new HandlerContext<>(depth - 1, null));
+                ForkJoinTask<Integer> right = chainExecutor.forkSubChain("tree", new HandlerContext<>(depth - 1, null));
+                context.setResponse(left.join() + right.join());
+                return true;
+            }
+        });
+        registry.registerHandler("error", new BaseHandler<Integer, Integer>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, Integer> context) {
+                throw new IllegalStateException("boom");
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        if (chainExecutor != null) {
+            chainExecutor.shutdown();
+        }
+    }
+
+    @Test
+    public void testNestedForkSubChainDeeperThanParallelismCompletes() throws Exception {
+        chainExecutor = new ChainExecutor<>(registry, new ForkJoinPool(2));
+
+        // 4层嵌套共31个子链，远多于2个工作线程，join等待时工作线程窃取执行排队的子链
+        Integer leaves = chainExecutor.executeAsync("tree", new HandlerContext<>(4, null)).get(10, TimeUnit.SECONDS);
+        assertEquals(Integer.valueOf(16), leaves);
+    }
+
+    @Test
+    public void testForkSubChainFromOutsideForkJoinPoolIsSubmitted() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        chainExecutor = new ChainExecutor<>(registry, pool);
+
+        ForkJoinTask<Integer> task = chainExecutor.forkSubChain("tree", new HandlerContext<>(3, null));
+        assertEquals(Integer.valueOf(8), task.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testForkSubChainRunsInlineOnNonForkJoinPool() {
+        chainExecutor = new ChainExecutor<>(registry, Executors.newFixedThreadPool(1));
+        Thread caller = Thread.currentThread();
+        Thread[] runner = new Thread[1];
+        registry.registerHandler("where", new BaseHandler<Integer, Integer>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, Integer> context) {
+                runner[0] = Thread.currentThread();
+                return true;
+            }
+        });
+
+        ForkJoinTask<Integer> task = chainExecutor.forkSubChain("where", new HandlerContext<>(0, null));
+        assertTrue(task.isDone());
+        assertSame(caller, runner[0]);
+
+        // 嵌套调用同样在当前线程完成，单线程池也不会死锁
+        assertEquals(Integer.valueOf(8), chainExecutor.forkSubChain("tree", new HandlerContext<>(3, null)).join());
+    }
+
+    @Test
+    public void testForkSubChainExceptionPropagatesThroughJoin() {
+        for (ForkJoinPool pool : new ForkJoinPool[]{new ForkJoinPool(2), null}) {
+            chainExecutor = new ChainExecutor<>(registry,
+                pool != null ? pool : Executors.newFixedThreadPool(1));
+            ForkJoinTask<Integer> task = chainExecutor.forkSubChain("error", new HandlerContext<>(0, null));
+            try {
+                task.join();
+                fail("Expected IllegalStateException");
+            } catch (IllegalStateException e) {
+                // 跨线程时ForkJoinTask会重新创建同类型的异常，消息保持不变
+                assertTrue(e.getMessage().contains("boom"));
+            }
+            assertTrue(task.isCompletedAbnormally());
+            chainExecutor.shutdown();
+        }
+        chainExecutor = null;
+    }
+
+    @Test
+    public void testFailStopsChainAfterCurrentHandler() throws Exception {
+        chainExecutor = new ChainExecutor<>(registry);
+        AtomicInteger completedCalls = new AtomicInteger();
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        registry.registerHandler("reject", new BaseHandler<Integer, Integer>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, Integer> context) {
+                context.setResponse(-1);
+                context.fail("INSUFFICIENT_BALANCE", "balance is not enough");
+                // 返回true也会因业务失败而中断
+                return true;
+            }
+
+            @Override
+            public void onCompleted(HandlerContext<Integer, Integer> context) {
+                completedCalls.incrementAndGet();
+            }
+        });
+        registry.registerHandler("reject", new BaseHandler<Integer, Integer>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, Integer> context) {
+                downstreamCalls.incrementAndGet();
+                return true;
+            }
+        });
+
+        HandlerContext<Integer, Integer> context = new HandlerContext<>(1, null);
+        assertEquals(Integer.valueOf(-1), chainExecutor.execute("reject", context));
+        assertEquals(1, completedCalls.get());
+        assertEquals(0, downstreamCalls.get());
+
+        assertTrue(context.isFailed());
+        assertEquals(new ChainFailure("INSUFFICIENT_BALANCE", "balance is not enough"), context.getFailure());
+    }
+
+    @Test
+    public void testExecuteAsyncExposesOriginalExceptionAsCause() throws Exception {
+        chainExecutor = new ChainExecutor<>(registry);
+
+        try {
+            chainExecutor.executeAsync("error", new HandlerContext<>(0, null)).get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("boom", e.getCause().getMessage());
+        }
+
+        try {
+            chainExecutor.executeAsync("error", new HandlerContext<>(0, null)).join();
+            fail("Expected CompletionException");
+        } catch (CompletionException e) {
+            // 只包装一层，cause即为处理者抛出的原始异常
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertEquals("boom", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    public void testExecuteAsyncRateLimitedFailsWithoutUsingPool() throws Exception {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        chainExecutor = new ChainExecutor<>(registry, pool);
+        chainExecutor.setKeyAffinityExecutor(new KeyAffinityExecutor(2, 100));
+        // 突发许可为1，第一次调用后许可耗尽
+        chainExecutor.setRateLimiter("tree", new TokenBucketRateLimiter(0.001, 1));
+
+        assertEquals(Integer.valueOf(1), chainExecutor.executeAsync("tree", new HandlerContext<>(0, null)).get(5, TimeUnit.SECONDS));
+        long submitted = pool.getTaskCount();
+
+        try {
+            chainExecutor.executeAsync("tree", new HandlerContext<>(0, null)).get(5, TimeUnit.SECONDS);
+            fail("Expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RateLimitExceededException);
+        }
+        // 许可在调用线程上获取，被限流的调用不会提交到线程池
+        assertEquals(submitted, pool.getTaskCount());
+
+        try {
+            chainExecutor.executeAsyncByKey("tree", new HandlerContext<>(0, null), "key").join();
+            fail("Expected CompletionException");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof RateLimitExceededException);
+        }
+        assertEquals(2, chainExecutor.getRateLimiter("tree").getRejectedCount());
+    }
+}
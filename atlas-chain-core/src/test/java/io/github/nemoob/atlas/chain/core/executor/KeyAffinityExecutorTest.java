@@ -0,0 +1,156 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.registry.ChainRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 按键分片执行器测试类
+ */
+public class KeyAffinityExecutorTest {
+    private static final int LANES = 4;
+
+    private KeyAffinityExecutor keyAffinityExecutor;
+    private ChainExecutor<Integer, String> chainExecutor;
+    // ordered链的执行顺序
+    private final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+    // 第一次调用在此等待，直到后续调用已排队
+    private final CountDownLatch followUpQueued = new CountDownLatch(1);
+    private final CountDownLatch orderedDone = new CountDownLatch(3);
+
+    @Before
+    public void setUp() {
+        keyAffinityExecutor = new KeyAffinityExecutor(LANES, 1000);
+        ChainRegistry<Integer, String> registry = new ChainRegistry<>();
+        // 外层链在通道线程内按子键调用内层链，不等待结果，由调用方从上下文中取出
+        registry.registerHandler("outer", new BaseHandler<Integer, String>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, String> context) {
+                Integer childKey = context.getAttribute("childKey", Integer.class);
+                context.setAttribute("child", chainExecutor.executeAsyncByKey("inner",
+                    new HandlerContext<>(childKey, null), childKey));
+                return true;
+            }
+        });
+        registry.registerHandler("inner", new BaseHandler<Integer, String>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, String> context) {
+                context.setResponse(Thread.currentThread().getName());
+                return true;
+            }
+        });
+        // 请求为调用序号，第一次调用在通道内按相同的键再提交一次后续调用（序号3）
+        registry.registerHandler("ordered", new BaseHandler<Integer, String>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, String> context) {
+                int seq = context.getRequest();
+                order.add(seq);
+                if (seq == 1) {
+                    try {
+                        followUpQueued.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    chainExecutor.executeAsyncByKey("ordered", new HandlerContext<>(3, null), "user-1");
+                }
+                orderedDone.countDown();
+                return true;
+            }
+        });
+        chainExecutor = new ChainExecutor<>(registry, Executors.newSingleThreadExecutor());
+        chainExecutor.setKeyAffinityExecutor(keyAffinityExecutor);
+    }
+
+    @After
+    public void tearDown() {
+        chainExecutor.shutdown();
+    }
+
+    @Test
+    public void testSameKeyKeepsSubmissionOrder() throws Exception {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1000);
+        for (int i = 0; i < 1000; i++) {
+            int seq = i;
+            keyAffinityExecutor.execute("user-1", () -> {
+                order.add(seq);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), order.get(i));
+        }
+    }
+
+    @Test
+    public void testNestedCallWithOtherLaneKeyRunsOnThatLane() throws Exception {
+        int parentKey = 0;
+        int childKey = findKeyOnOtherLane(parentKey);
+        HandlerContext<Integer, String> context = new HandlerContext<>(parentKey, null);
+        context.setAttribute("childKey", childKey);
+
+        chainExecutor.executeAsyncByKey("outer", context, parentKey).get(5, TimeUnit.SECONDS);
+        String thread = childResult(context).get(5, TimeUnit.SECONDS);
+        assertEquals("chain-lane-" + keyAffinityExecutor.laneOf(childKey), thread);
+    }
+
+    @Test
+    public void testNestedCallWithSameLaneKeyIsQueuedOnThatLane() throws Exception {
+        int parentKey = 0;
+        int childKey = findKeyOnSameLane(parentKey);
+        HandlerContext<Integer, String> context = new HandlerContext<>(parentKey, null);
+        context.setAttribute("childKey", childKey);
+
+        chainExecutor.executeAsyncByKey("outer", context, parentKey).get(5, TimeUnit.SECONDS);
+        String thread = childResult(context).get(5, TimeUnit.SECONDS);
+        assertEquals("chain-lane-" + keyAffinityExecutor.laneOf(parentKey), thread);
+    }
+
+    @Test
+    public void testNestedCallWithSameKeyRunsAfterQueuedCalls() throws Exception {
+        chainExecutor.executeAsyncByKey("ordered", new HandlerContext<>(1, null), "user-1");
+        // 第一次调用执行期间，第二次调用已在通道中排队
+        chainExecutor.executeAsyncByKey("ordered", new HandlerContext<>(2, null), "user-1");
+        followUpQueued.countDown();
+
+        // 通道内提交的后续调用不插队，排在已排队的第二次调用之后
+        assertTrue(orderedDone.await(5, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(1, 2, 3), order);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<String> childResult(HandlerContext<Integer, String> context) {
+        return (CompletableFuture<String>) context.getAttribute("child", CompletableFuture.class);
+    }
+
+    private int findKeyOnOtherLane(int key) {
+        int candidate = key + 1;
+        while (keyAffinityExecutor.laneOf(candidate) == keyAffinityExecutor.laneOf(key)) {
+            candidate++;
+        }
+        return candidate;
+    }
+
+    private int findKeyOnSameLane(int key) {
+        int candidate = key + 1;
+        while (keyAffinityExecutor.laneOf(candidate) != keyAffinityExecutor.laneOf(key)) {
+            candidate++;
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 多生产者单消费者环形缓冲区测试类
+ */
+public class MpscRingBufferTest {
+
+    @Test
+    public void testWrapAroundAndFull() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 4; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            assertFalse(buffer.offer(-1));
+            for (int i = 0; i < 4; i++) {
+                assertEquals(Integer.valueOf(expected++), buffer.poll());
+            }
+            assertTrue(buffer.isEmpty());
+            assertNull(buffer.poll());
+        }
+    }
+
+    @Test
+    public void testConcurrentProducersKeepPerProducerOrder() throws Exception {
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(16);
+        int producers = 4;
+        int perProducer = 50_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread t = new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    long[] item = {producer, i};
+                    while (!buffer.offer(item)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+
+        // 每个生产者的元素按写入顺序出队，且不丢失、不重复
+        long[] nextSeq = new long[producers];
+        for (int received = 0; received < producers * perProducer; ) {
+            long[] item = buffer.poll();
+            if (item == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(nextSeq[(int) item[0]]++, item[1]);
+            received++;
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(buffer.isEmpty());
+        for (long seq : nextSeq) {
+            assertEquals(perProducer, seq);
+        }
+    }
+}
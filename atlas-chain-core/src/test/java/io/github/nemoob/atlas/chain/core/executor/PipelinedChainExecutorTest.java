@@ -0,0 +1,216 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.limiter.RateLimitExceededException;
+import io.github.nemoob.atlas.chain.core.limiter.TokenBucketRateLimiter;
+import io.github.nemoob.atlas.chain.core.registry.ChainRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 流水线执行器测试类
+ */
+public class PipelinedChainExecutorTest {
+    private ChainRegistry<Integer, String> registry;
+    private ChainExecutor<Integer, String> chainExecutor;
+    private PipelinedChainExecutor<Integer, String> pipeline;
+
+    @Before
+    public void setUp() {
+        registry = new ChainRegistry<>();
+        chainExecutor = new ChainExecutor<>(registry);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (pipeline != null) {
+            pipeline.shutdown();
+            pipeline.awaitTermination(5, TimeUnit.SECONDS);
+        }
+        chainExecutor.shutdown();
+    }
+
+    @Test
+    public void testShutdownDrainsAllStages() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            registry.registerHandler("append", new AppendHandler(String.valueOf(i)));
+        }
+        pipeline = new PipelinedChainExecutor<>(chainExecutor, "append", new int[]{1, 2, 1}, 8, WaitStrategy.PARK);
+
+        // 多个线程并发提交，缓冲区远小于请求数，提交线程会在第一个阶段前等待
+        int producers = 4;
+        int perProducer = 2_000;
+        List<List<CompletableFuture<String>>> futures = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            List<CompletableFuture<String>> own = new ArrayList<>();
+            futures.add(own);
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    own.add(pipeline.submit(new HandlerContext<>(i, "")));
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        pipeline.shutdown();
+        assertTrue(pipeline.awaitTermination(10, TimeUnit.SECONDS));
+
+        for (List<CompletableFuture<String>> own : futures) {
+            assertEquals(perProducer, own.size());
+            for (CompletableFuture<String> future : own) {
+                assertTrue(future.isDone());
+                assertEquals("0123", future.get());
+            }
+        }
+    }
+
+    @Test
+    public void testShutdownDuringSubmitCompletesEveryFuture() throws Exception {
+        registry.registerHandler("append", new AppendHandler("a"));
+        registry.registerHandler("append", new AppendHandler("b"));
+        pipeline = new PipelinedChainExecutor<>(chainExecutor, "append", 4, WaitStrategy.YIELD);
+
+        List<CompletableFuture<String>> futures = new CopyOnWriteArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            Thread t = new Thread(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    futures.add(pipeline.submit(new HandlerContext<>(i, "")));
+                }
+            });
+            threads.add(t);
+            t.start();
+        }
+        Thread.sleep(5);
+        pipeline.shutdown();
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertTrue(pipeline.awaitTermination(10, TimeUnit.SECONDS));
+
+        // 关闭前受理的请求全部执行完，关闭后的请求以RejectedExecutionException完成
+        for (CompletableFuture<String> future : futures) {
+            assertTrue(future.isDone());
+            if (!future.isCompletedExceptionally()) {
+                assertEquals("ab", future.get());
+            } else {
+                assertCause(future, RejectedExecutionException.class);
+            }
+        }
+    }
+
+    @Test
+    public void testSubmitAfterShutdownFailsFuture() throws Exception {
+        registry.registerHandler("append", new AppendHandler("a"));
+        pipeline = new PipelinedChainExecutor<>(chainExecutor, "append", 8, WaitStrategy.YIELD);
+        pipeline.shutdown();
+
+        CompletableFuture<String> future = pipeline.submit(new HandlerContext<>(1, ""));
+        assertCause(future, RejectedExecutionException.class);
+    }
+
+    @Test
+    public void testRateLimitedSubmitFailsFuture() throws Exception {
+        registry.registerHandler("append", new AppendHandler("a"));
+        chainExecutor.setRateLimiter("append", new TokenBucketRateLimiter(1, 1));
+        pipeline = new PipelinedChainExecutor<>(chainExecutor, "append", 8, WaitStrategy.YIELD);
+
+        assertEquals("a", pipeline.submit(new HandlerContext<>(1, "")).get(5, TimeUnit.SECONDS));
+        assertCause(pipeline.submit(new HandlerContext<>(2, "")), RateLimitExceededException.class);
+    }
+
+    @Test
+    public void testShortCircuitMatchesExecute() throws Exception {
+        AtomicInteger lastHandlerCalls = new AtomicInteger();
+        registry.registerHandler("stop", new AppendHandler("a"));
+        registry.registerHandler("stop", new BaseHandler<Integer, String>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, String> context) {
+                context.setResponse(context.getResponse() + "b");
+                return context.getRequest() % 2 == 0;
+            }
+        });
+        registry.registerHandler("stop", new BaseHandler<Integer, String>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, String> context) {
+                lastHandlerCalls.incrementAndGet();
+                context.setResponse(context.getResponse() + "c");
+                return true;
+            }
+        });
+        pipeline = new PipelinedChainExecutor<>(chainExecutor, "stop", 8, WaitStrategy.YIELD);
+
+        for (int request = 0; request < 2; request++) {
+            String expected = chainExecutor.execute("stop", new HandlerContext<>(request, ""));
+            String actual = pipeline.submit(new HandlerContext<>(request, "")).get(5, TimeUnit.SECONDS);
+            assertEquals(expected, actual);
+        }
+        // 偶数请求两种方式各执行一次最后一个处理者，奇数请求被中断
+        assertEquals(2, lastHandlerCalls.get());
+    }
+
+    @Test
+    public void testHandlerExceptionFailsFuture() throws Exception {
+        AtomicInteger downstreamCalls = new AtomicInteger();
+        registry.registerHandler("error", new BaseHandler<Integer, String>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, String> context) {
+                throw new IllegalStateException("boom");
+            }
+        });
+        registry.registerHandler("error", new BaseHandler<Integer, String>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, String> context) {
+                downstreamCalls.incrementAndGet();
+                return true;
+            }
+        });
+        pipeline = new PipelinedChainExecutor<>(chainExecutor, "error", 8, WaitStrategy.YIELD);
+
+        assertCause(pipeline.submit(new HandlerContext<>(1, "")), IllegalStateException.class);
+        assertEquals(0, downstreamCalls.get());
+    }
+
+    private static void assertCause(CompletableFuture<?> future, Class<? extends Throwable> type) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected " + type.getSimpleName());
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().toString(), type.isInstance(e.getCause()));
+        }
+    }
+
+    /**
+     * 在响应末尾追加固定内容的处理者
+     */
+    private static class AppendHandler extends BaseHandler<Integer, String> {
+        private final String suffix;
+
+        AppendHandler(String suffix) {
+            this.suffix = suffix;
+        }
+
+        @Override
+        public boolean doHandle(HandlerContext<Integer, String> context) {
+            context.setResponse(context.getResponse() + suffix);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * 优先级线程池测试类
+ */
+public class PriorityThreadPoolExecutorTest {
+    private CountDownLatch release;
+    private List<String> order;
+
+    @Before
+    public void setUp() {
+        release = new CountDownLatch(1);
+        order = Collections.synchronizedList(new ArrayList<>());
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    public void testHigherPriorityRunsFirst() throws Exception {
+        PriorityThreadPoolExecutor executor = new PriorityThreadPoolExecutor(1, 10_000);
+        blockWorker(executor);
+
+        executor.execute(record("low"), ChainPriority.LOW);
+        executor.execute(record("normal"), ChainPriority.NORMAL);
+        executor.execute(record("high"), ChainPriority.HIGH);
+        release.countDown();
+
+        awaitDone(executor);
+        assertEquals(Arrays.asList("high", "normal", "low"), order);
+    }
+
+    @Test
+    public void testSamePriorityKeepsSubmissionOrder() throws Exception {
+        PriorityThreadPoolExecutor executor = new PriorityThreadPoolExecutor(1, 10_000);
+        blockWorker(executor);
+
+        for (int i = 0; i < 5; i++) {
+            executor.execute(record("task-" + i), ChainPriority.NORMAL);
+        }
+        release.countDown();
+
+        awaitDone(executor);
+        assertEquals(Arrays.asList("task-0", "task-1", "task-2", "task-3", "task-4"), order);
+    }
+
+    @Test
+    public void testAgedLowPriorityRunsBeforeNewHighPriority() throws Exception {
+        // 低两级的任务最多多等待 2 * 20ms，等待100ms后应排到新提交的高优先级任务之前
+        PriorityThreadPoolExecutor executor = new PriorityThreadPoolExecutor(1, 20);
+        blockWorker(executor);
+
+        executor.execute(record("old-low"), ChainPriority.LOW);
+        Thread.sleep(100);
+        executor.execute(record("new-high"), ChainPriority.HIGH);
+        release.countDown();
+
+        awaitDone(executor);
+        assertEquals(Arrays.asList("old-low", "new-high"), order);
+    }
+
+    @Test
+    public void testQueueCapacityIsEnforced() throws Exception {
+        PriorityThreadPoolExecutor executor = new PriorityThreadPoolExecutor(1, 2, 500,
+            Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        blockWorker(executor);
+
+        executor.execute(record("a"), ChainPriority.NORMAL);
+        executor.execute(record("b"), ChainPriority.NORMAL);
+        try {
+            executor.execute(record("c"), ChainPriority.HIGH);
+            fail("Expected RejectedExecutionException when the queue is full");
+        } catch (RejectedExecutionException expected) {
+            // 队列已满
+        }
+        assertEquals(2, executor.getQueue().size());
+
+        release.countDown();
+        awaitDone(executor);
+        assertEquals(Arrays.asList("a", "b"), order);
+    }
+
+    @Test
+    public void testPutOnFullQueueDoesNotDropTask() throws Exception {
+        PriorityThreadPoolExecutor executor = new PriorityThreadPoolExecutor(1, 1, 500,
+            Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        blockWorker(executor);
+        BlockingQueue<Runnable> queue = executor.getQueue();
+
+        queue.put(new QueuedTask(record("a")));
+        try {
+            queue.put(new QueuedTask(record("b")));
+            fail("Expected IllegalStateException when the queue is full");
+        } catch (IllegalStateException expected) {
+            // 队列已满
+        }
+        assertEquals(1, queue.size());
+
+        release.countDown();
+        awaitDone(executor);
+        assertEquals(Collections.singletonList("a"), order);
+    }
+
+    @Test
+    public void testCapacityIsReleasedAfterDequeue() throws Exception {
+        PriorityThreadPoolExecutor executor = new PriorityThreadPoolExecutor(1, 1, 500,
+            Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        for (int i = 0; i < 20; i++) {
+            CountDownLatch done = new CountDownLatch(1);
+            executor.execute(done::countDown, ChainPriority.NORMAL);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, executor.getQueue().remainingCapacity());
+        executor.shutdown();
+    }
+
+    /**
+     * 占住唯一的工作线程，使后续任务进入队列排队
+     */
+    private void blockWorker(PriorityThreadPoolExecutor executor) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 可直接放入优先级队列的任务，按创建顺序排序
+     */
+    private static final class QueuedTask implements Runnable, Comparable<QueuedTask> {
+        private static final AtomicLong SEQUENCE = new AtomicLong();
+        private final Runnable delegate;
+        private final long seq = SEQUENCE.getAndIncrement();
+
+        QueuedTask(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            delegate.run();
+        }
+
+        @Override
+        public int compareTo(QueuedTask other) {
+            return Long.compare(seq, other.seq);
+        }
+    }
+
+    private Runnable record(String name) {
+        return () -> order.add(name);
+    }
+
+    private static void awaitDone(PriorityThreadPoolExecutor executor) throws InterruptedException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+}
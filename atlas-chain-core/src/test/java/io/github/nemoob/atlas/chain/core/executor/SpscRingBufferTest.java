@@ -0,0 +1,80 @@
+package io.github.nemoob.atlas.chain.core.executor;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * 单生产者单消费者环形缓冲区测试类
+ */
+public class SpscRingBufferTest {
+
+    @Test
+    public void testOfferFailsWhenFull() {
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+
+        assertEquals(Integer.valueOf(0), buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertFalse(buffer.offer(5));
+    }
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(3);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+    }
+
+    @Test
+    public void testWrapAroundKeepsOrder() {
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(4);
+        assertTrue(buffer.isEmpty());
+        assertNull(buffer.poll());
+
+        // 每轮写入3个、读出3个，写入位置不断越过数组末尾
+        int next = 0;
+        int expected = 0;
+        for (int round = 0; round < 1000; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            assertFalse(buffer.isEmpty());
+            for (int i = 0; i < 3; i++) {
+                assertEquals(Integer.valueOf(expected++), buffer.poll());
+            }
+            assertTrue(buffer.isEmpty());
+            assertNull(buffer.poll());
+        }
+    }
+
+    @Test
+    public void testConcurrentProducerAndConsumer() throws Exception {
+        SpscRingBuffer<Integer> buffer = new SpscRingBuffer<>(8);
+        int total = 200_000;
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < total; i++) {
+                while (!buffer.offer(i)) {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+
+        for (int expected = 0; expected < total; ) {
+            Integer value = buffer.poll();
+            if (value == null) {
+                Thread.yield();
+                continue;
+            }
+            assertEquals(Integer.valueOf(expected++), value);
+        }
+        producer.join();
+        assertTrue(buffer.isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.nemoob.atlas.chain.core.handler;
+
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+/**
+ * 错误日志限流器测试类
+ */
+public class ErrorLogLimiterTest {
+    private static final Logger log = LoggerFactory.getLogger(ErrorLogLimiterTest.class);
+
+    private ErrorLogLimiter limiter;
+
+    @After
+    public void tearDown() {
+        if (limiter != null) {
+            limiter.shutdown();
+        }
+    }
+
+    @Test
+    public void testErrorsBeyondLimitAreSuppressed() {
+        limiter = new ErrorLogLimiter(3, 60_000);
+        for (int i = 0; i < 10; i++) {
+            limiter.logError(log, "TestHandler", new IllegalStateException("boom"));
+        }
+        assertEquals(7, limiter.getSuppressedCount("TestHandler", IllegalStateException.class));
+        assertEquals(0, limiter.getSuppressedCount("TestHandler", IllegalArgumentException.class));
+        assertEquals(0, limiter.getSuppressedCount("OtherHandler", IllegalStateException.class));
+    }
+
+    @Test
+    public void testWindowIsFlushedWithoutFurtherErrors() throws Exception {
+        limiter = new ErrorLogLimiter(1, 50);
+        for (int i = 0; i < 5; i++) {
+            limiter.logError(log, "TestHandler", new IllegalStateException("boom"));
+        }
+        assertEquals(4, limiter.getSuppressedCount("TestHandler", IllegalStateException.class));
+
+        // 不再有新错误，后台线程在周期结束后开启新周期
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (limiter.getSuppressedCount("TestHandler", IllegalStateException.class) != 0
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, limiter.getSuppressedCount("TestHandler", IllegalStateException.class));
+    }
+
+    @Test
+    public void testNoSuppressedCountIsLostWhileWindowsRollOver() throws Exception {
+        AtomicLong logged = new AtomicLong();
+        AtomicLong reported = new AtomicLong();
+        Logger capturing = capturingLogger(logged, reported);
+        // 周期很短，后台汇总线程与写入线程频繁并发替换周期
+        limiter = new ErrorLogLimiter(1, 1);
+
+        int threads = 4;
+        int perThread = 20_000;
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> {
+                for (int j = 0; j < perThread; j++) {
+                    limiter.logError(capturing, "TestHandler", new IllegalStateException("boom"));
+                }
+            });
+            writers.add(t);
+            t.start();
+        }
+        for (Thread t : writers) {
+            t.join();
+        }
+        limiter.shutdown();
+        limiter = null;
+
+        // 每条错误要么被输出，要么计入某个周期的汇总
+        assertEquals((long) threads * perThread, logged.get() + reported.get());
+    }
+
+    @Test
+    public void testNewWindowStartsWithFreshQuota() throws Exception {
+        limiter = new ErrorLogLimiter(2, 50);
+        for (int i = 0; i < 3; i++) {
+            limiter.logError(log, "TestHandler", new IllegalStateException("boom"));
+        }
+        assertEquals(1, limiter.getSuppressedCount("TestHandler", IllegalStateException.class));
+
+        Thread.sleep(120);
+        limiter.flush();
+        for (int i = 0; i < 2; i++) {
+            limiter.logError(log, "TestHandler", new IllegalStateException("boom"));
+        }
+        assertEquals(0, limiter.getSuppressedCount("TestHandler", IllegalStateException.class));
+    }
+
+    /**
+     * 统计error调用次数和warn汇总中抑制条数的日志对象
+     */
+    private static Logger capturingLogger(AtomicLong logged, AtomicLong reported) {
+        return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("error")) {
+                    logged.incrementAndGet();
+                } else if (method.getName().equals("warn")) {
+                    Object[] params = (Object[]) args[1];
+                    reported.addAndGet((Long) params[1]);
+                }
+                return method.getReturnType() == boolean.class ? Boolean.FALSE : null;
+            });
+    }
+}
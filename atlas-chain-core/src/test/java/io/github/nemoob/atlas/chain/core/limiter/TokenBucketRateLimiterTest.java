@@ -0,0 +1,87 @@
+package io.github.nemoob.atlas.chain.core.limiter;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 令牌桶限流器测试类
+ */
+public class TokenBucketRateLimiterTest {
+
+    @Test
+    public void testBurstThenReject() {
+        // 每秒1个许可，补充一个许可需要1秒，测试期间不会补充
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 5);
+        for (int i = 0; i < 5; i++) {
+            assertTrue("permit " + i + " should be within the burst", limiter.acquire());
+        }
+        assertFalse(limiter.acquire());
+        assertFalse(limiter.acquire());
+
+        assertEquals(5, limiter.getPermittedCount());
+        assertEquals(2, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testRefillAfterInterval() throws Exception {
+        // 每个许可间隔100ms
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 2);
+        assertTrue(limiter.acquire());
+        assertTrue(limiter.acquire());
+        assertFalse(limiter.acquire());
+
+        Thread.sleep(150);
+        assertTrue(limiter.acquire());
+        assertFalse(limiter.acquire());
+    }
+
+    @Test
+    public void testIdleDoesNotAccumulateBeyondBurst() throws Exception {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(100, 3);
+        // 空闲时间足以补充远多于burst的许可
+        Thread.sleep(200);
+        int permitted = 0;
+        while (limiter.tryAcquire(0)) {
+            permitted++;
+            if (permitted > 10) {
+                break;
+            }
+        }
+        // 循环期间最多再补充一个许可
+        assertTrue("permitted " + permitted, permitted >= 3 && permitted <= 4);
+    }
+
+    @Test
+    public void testBlockModeWaitsForPermit() {
+        // 每个许可间隔50ms，最多等待500ms
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(20, 1, RateLimitMode.BLOCK, 500);
+        assertTrue(limiter.acquire());
+
+        long start = System.nanoTime();
+        assertTrue(limiter.acquire());
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("waited " + waitedMillis + " ms", waitedMillis >= 30);
+        assertEquals(0, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testBlockModeRejectsBeyondTimeout() {
+        // 每个许可间隔1秒，最多等待50ms
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, RateLimitMode.BLOCK, 50);
+        assertTrue(limiter.acquire());
+
+        long start = System.nanoTime();
+        assertFalse(limiter.acquire());
+        // 超出等待时间的请求立即拒绝，不会先等待到许可发放
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500);
+        assertEquals(1, limiter.getRejectedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositiveRateIsRejected() {
+        new TokenBucketRateLimiter(0, 1);
+    }
+}
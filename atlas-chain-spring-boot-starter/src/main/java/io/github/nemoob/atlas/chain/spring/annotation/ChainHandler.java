@@ -20,4 +20,11 @@ public @interface ChainHandler {
      * @return 顺序值
      */
     int order() default 0;
+    
+    /**
+     * 处理者是否可以安全地参与启动预热，即预热调用不会写库、发消息或调用第三方
+     * 只有链上所有处理者都声明为true时，启动预热才会执行该链
+     * @return 是否可参与预热
+     */
+    boolean warmUpSafe() default false;
 }
\ No newline at end of file
@@ -1,19 +1,31 @@
 package io.github.nemoob.atlas.chain.spring.autoconfigure;
 
 import io.github.nemoob.atlas.chain.core.executor.ChainExecutor;
+import io.github.nemoob.atlas.chain.core.executor.KeyAffinityExecutor;
+import io.github.nemoob.atlas.chain.core.executor.PriorityThreadPoolExecutor;
+import io.github.nemoob.atlas.chain.core.handler.ErrorLogLimiter;
+import io.github.nemoob.atlas.chain.core.limiter.TokenBucketRateLimiter;
 import io.github.nemoob.atlas.chain.core.registry.ChainRegistry;
 import io.github.nemoob.atlas.chain.spring.properties.ChainHandlerProperties;
+import io.github.nemoob.atlas.chain.spring.warmup.ChainWarmUpProvider;
+import io.github.nemoob.atlas.chain.spring.warmup.ChainWarmUpRunner;
 import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * 责任链处理者自动配置类
@@ -26,20 +38,40 @@ public class ChainHandlerAutoConfiguration {
     
     /**
      * 创建链注册器Bean
+     * @param errorLogLimiter 错误日志限流器，未启用时为空
      * @param <P> Param类型
      * @param <R> Response类型
      * @return 链注册器
      */
     @Bean
     @ConditionalOnMissingBean
-    public <P, R> ChainRegistry<P, R> chainRegistry() {
-        return new ChainRegistry<>();
+    public <P, R> ChainRegistry<P, R> chainRegistry(ObjectProvider<ErrorLogLimiter> errorLogLimiter) {
+        ChainRegistry<P, R> chainRegistry = new ChainRegistry<>();
+        chainRegistry.setErrorLogLimiter(errorLogLimiter.getIfAvailable());
+        return chainRegistry;
+    }
+    
+    /**
+     * 创建错误日志限流器Bean，容器关闭时停止后台汇总线程
+     * @param properties 配置属性
+     * @return 错误日志限流器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "chain.handler.error-log", name = "rate-limited", havingValue = "true")
+    public ErrorLogLimiter errorLogLimiter(ChainHandlerProperties properties) {
+        return new ErrorLogLimiter(
+            properties.getErrorLog().getMaxPerInterval(),
+            properties.getErrorLog().getIntervalMillis()
+        );
     }
     
     /**
      * 创建链执行器Bean
      * @param chainRegistry 链注册器
      * @param executorService 线程池
+     * @param keyAffinityExecutor 按键分片执行器，未启用时为空
+     * @param properties 配置属性
      * @param <P> Param类型
      * @param <R> Response类型
      * @return 链执行器
@@ -47,8 +79,52 @@ public class ChainHandlerAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public <P, R> ChainExecutor<P, R> chainExecutor(ChainRegistry<P, R> chainRegistry, 
-                                                   ExecutorService executorService) {
-        return new ChainExecutor<>(chainRegistry, executorService);
+                                                   ExecutorService executorService,
+                                                   ObjectProvider<KeyAffinityExecutor> keyAffinityExecutor,
+                                                   ChainHandlerProperties properties) {
+        ChainExecutor<P, R> chainExecutor = new ChainExecutor<>(chainRegistry, executorService);
+        chainExecutor.setKeyAffinityExecutor(keyAffinityExecutor.getIfAvailable());
+        properties.getPriority().getChains().forEach(chainExecutor::setChainPriority);
+        properties.getRateLimits().forEach((chainId, rateLimit) -> chainExecutor.setRateLimiter(chainId,
+            new TokenBucketRateLimiter(rateLimit.getPermitsPerSecond(), rateLimit.getBurst(),
+                rateLimit.getMode(), rateLimit.getTimeoutMillis())));
+        return chainExecutor;
+    }
+    
+    /**
+     * 创建按键分片执行器Bean
+     * @param properties 配置属性
+     * @return 按键分片执行器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "chain.handler.sharding", name = "enabled", havingValue = "true")
+    public KeyAffinityExecutor keyAffinityExecutor(ChainHandlerProperties properties) {
+        return new KeyAffinityExecutor(
+            properties.getSharding().getLanes(),
+            properties.getSharding().getLaneQueueCapacity()
+        );
+    }
+    
+    /**
+     * 创建启动预热执行器Bean，在应用就绪前预热所有已注册的链
+     * @param chainExecutor 链执行器
+     * @param providers 预热样例提供者
+     * @param properties 配置属性
+     * @return 启动预热执行器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "chain.handler.warm-up", name = "enabled", havingValue = "true")
+    public ChainWarmUpRunner chainWarmUpRunner(ChainExecutor<?, ?> chainExecutor,
+                                               ObjectProvider<ChainWarmUpProvider> providers,
+                                               ChainHandlerProperties properties) {
+        return new ChainWarmUpRunner(
+            chainExecutor,
+            providers.orderedStream().collect(Collectors.toList()),
+            properties.getWarmUp().getIterations(),
+            properties.getWarmUp().isFailOnError()
+        );
     }
     
     /**
@@ -59,20 +135,52 @@ public class ChainHandlerAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
     public ExecutorService handlerExecutorService(ChainHandlerProperties properties) {
+        // 使用工作窃取线程池，等待子链的线程会帮助执行排队中的子链
+        if (properties.getExecutorType() == ChainHandlerProperties.ExecutorType.FORK_JOIN) {
+            // ForkJoinPool不支持按优先级出队，两者同时配置时直接启动失败，避免优先级配置静默失效
+            if (properties.getPriority().isEnabled()) {
+                throw new IllegalStateException("chain.handler.executor-type=FORK_JOIN cannot be combined with "
+                    + "chain.handler.priority.enabled=true");
+            }
+            int parallelism = properties.getForkJoinParallelism() > 0
+                ? properties.getForkJoinParallelism()
+                : Runtime.getRuntime().availableProcessors();
+            return new ForkJoinPool(parallelism, pool -> {
+                ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                t.setName("chain-handler-fj-" + t.getPoolIndex());
+                return t;
+            }, null, false);
+        }
+        
+        // 启用优先级调度时使用优先级线程池
+        if (properties.getPriority().isEnabled()) {
+            return new PriorityThreadPoolExecutor(
+                properties.getCorePoolSize(),
+                properties.getQueueCapacity(),
+                properties.getPriority().getAgingMillis(),
+                handlerThreadFactory(),
+                new ThreadPoolExecutor.CallerRunsPolicy()
+            );
+        }
+        
         ThreadPoolExecutor executor = new ThreadPoolExecutor(
             properties.getCorePoolSize(),
             properties.getMaxPoolSize(),
             properties.getKeepAliveTime(),
             TimeUnit.SECONDS,
             new LinkedBlockingQueue<>(properties.getQueueCapacity()),
-            r -> {
-                Thread t = new Thread(r);
-                t.setName("chain-handler-" + t.getId());
-                t.setDaemon(false);
-                return t;
-            },
+            handlerThreadFactory(),
             new ThreadPoolExecutor.CallerRunsPolicy()
         );
         return executor;
     }
+    
+    private ThreadFactory handlerThreadFactory() {
+        return r -> {
+            Thread t = new Thread(r);
+            t.setName("chain-handler-" + t.getId());
+            t.setDaemon(false);
+            return t;
+        };
+    }
 }
\ No newline at end of file
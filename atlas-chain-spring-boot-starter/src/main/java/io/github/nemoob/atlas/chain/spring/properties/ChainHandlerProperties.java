@@ -1,8 +1,13 @@
 package io.github.nemoob.atlas.chain.spring.properties;
 
+import io.github.nemoob.atlas.chain.core.executor.ChainPriority;
+import io.github.nemoob.atlas.chain.core.limiter.RateLimitMode;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * 责任链处理者配置属性类
  */
@@ -13,4 +18,89 @@ public class ChainHandlerProperties {
     private int maxPoolSize = 10;
     private int keepAliveTime = 60;
     private int queueCapacity = 100;
-}
\ No newline at end of file
+    // 线程池类型，FORK_JOIN适用于处理者内部通过forkSubChain并行调用子链的场景
+    private ExecutorType executorType = ExecutorType.THREAD_POOL;
+    // ForkJoinPool并行度，小于等于0时取CPU核数
+    private int forkJoinParallelism = 0;
+    private Priority priority = new Priority();
+    private ErrorLog errorLog = new ErrorLog();
+    private WarmUp warmUp = new WarmUp();
+    // 每个链ID的限流配置
+    private Map<String, RateLimit> rateLimits = new HashMap<>();
+    private Sharding sharding = new Sharding();
+    
+    /**
+     * 线程池类型
+     */
+    public enum ExecutorType {
+        THREAD_POOL,
+        FORK_JOIN
+    }
+    
+    /**
+     * 优先级调度配置
+     */
+    @Data
+    public static class Priority {
+        // 是否启用优先级线程池，启用后线程数固定为corePoolSize
+        private boolean enabled = false;
+        // 防饥饿时间（毫秒），低一级的任务最多比高一级的任务多等待该时长
+        private long agingMillis = 500;
+        // 每个链ID的优先级，未配置的链为NORMAL
+        private Map<String, ChainPriority> chains = new HashMap<>();
+    }
+    
+    /**
+     * 错误日志限流配置
+     */
+    @Data
+    public static class ErrorLog {
+        // 是否启用错误日志限流
+        private boolean rateLimited = false;
+        // 每个周期内每个处理者的每种异常最多输出的日志条数
+        private int maxPerInterval = 5;
+        // 统计周期（毫秒）
+        private long intervalMillis = 60000;
+    }
+    
+    /**
+     * 启动预热配置
+     */
+    @Data
+    public static class WarmUp {
+        // 是否在启动时预热已注册的链，需要提供ChainWarmUpProvider Bean
+        private boolean enabled = false;
+        // 每条链的预热执行次数
+        private int iterations = 200;
+        // 预热执行出错时是否中断启动
+        private boolean failOnError = false;
+    }
+    
+    /**
+     * 限流配置
+     */
+    @Data
+    public static class RateLimit {
+        // 每秒许可数
+        private double permitsPerSecond;
+        // 突发许可数
+        private int burst = 1;
+        // 限流模式
+        private RateLimitMode mode = RateLimitMode.REJECT;
+        // BLOCK模式下的最长等待时间（毫秒）
+        private long timeoutMillis = 100;
+    }
+    
+    /**
+     * 按键分片执行配置
+     */
+    @Data
+    public static class Sharding {
+        // 是否启用按键分片执行，启用后还需通过ChainExecutor.setKeyExtractor为链设置分片键
+        private boolean enabled = false;
+        // 通道数，小于等于0时取CPU核数
+        private int lanes = 0;
+        // 每条通道的队列容量
+        private int laneQueueCapacity = 10000;
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.nemoob.atlas.chain.spring.warmup;
+
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+
+/**
+ * 预热样例提供者，注册为Spring Bean后，启动预热阶段会用它创建的上下文执行对应的链
+ * 每次预热调用都会重新创建上下文，返回null表示不预热该链
+ */
+public interface ChainWarmUpProvider {
+    /**
+     * 为指定链创建预热上下文
+     * @param chainId 链ID
+     * @return 预热上下文，返回null表示不预热该链
+     */
+    HandlerContext<?, ?> createContext(String chainId);
+}
@@ -0,0 +1,153 @@
+package io.github.nemoob.atlas.chain.spring.warmup;
+
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import io.github.nemoob.atlas.chain.core.executor.ChainExecutor;
+import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.limiter.TokenBucketRateLimiter;
+import io.github.nemoob.atlas.chain.spring.annotation.ChainHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.AnnotationUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 启动预热执行器，在处理者注册完成（容器刷新）之后、应用发布ApplicationReadyEvent之前，
+ * 使用ChainWarmUpProvider提供的样例上下文将每条链执行指定次数，提前完成类加载、JIT编译和处理者的延迟初始化
+ *
+ * 默认不执行任何有副作用的代码：只有链上所有处理者都通过@ChainHandler(warmUpSafe = true)声明可安全预热时才预热该链，
+ * 其他链跳过；预热上下文中会设置WARM_UP属性，声明了warmUpSafe但仍有少量副作用的处理者可通过isWarmUp判断并跳过
+ *
+ * 某条链的预热调用出错时记录一次原因并停止该链的预热，避免同一个错误样例反复输出错误日志
+ *
+ * 预热期间暂时移除链的限流器，预热调用不消耗限流许可，避免应用就绪时许可已被耗尽；应用就绪前不应有真实流量
+ */
+@Slf4j
+public class ChainWarmUpRunner implements ApplicationRunner {
+    /**
+     * 预热上下文标记属性
+     */
+    public static final String WARM_UP = "atlas.chain.warmUp";
+
+    private final ChainExecutor<?, ?> chainExecutor;
+    private final List<ChainWarmUpProvider> providers;
+    private final int iterations;
+    private final boolean failOnError;
+    // 上次预热耗时（毫秒）
+    private volatile long lastWarmUpMillis = -1;
+
+    public ChainWarmUpRunner(ChainExecutor<?, ?> chainExecutor, List<ChainWarmUpProvider> providers,
+                             int iterations, boolean failOnError) {
+        this.chainExecutor = chainExecutor;
+        this.providers = providers;
+        this.iterations = iterations;
+        this.failOnError = failOnError;
+    }
+
+    /**
+     * 判断上下文是否为预热调用
+     * @param context 处理上下文
+     * @return true表示预热调用
+     */
+    public static boolean isWarmUp(HandlerContext<?, ?> context) {
+        return Boolean.TRUE.equals(context.getAttribute(WARM_UP, Boolean.class));
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (providers.isEmpty()) {
+            log.info("No ChainWarmUpProvider found, skip chain warm-up");
+            return;
+        }
+
+        long start = System.nanoTime();
+        int warmedChains = 0;
+        for (String chainId : new ArrayList<>(chainExecutor.getChainRegistry().getAllChainIds())) {
+            if (warmUpChain(chainExecutor, chainId)) {
+                warmedChains++;
+            }
+        }
+        lastWarmUpMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Chain warm-up finished: {} chains in {} ms", warmedChains, lastWarmUpMillis);
+    }
+
+    /**
+     * 预热单条链
+     * @param executor 链执行器
+     * @param chainId 链ID
+     * @return 是否执行了预热
+     */
+    private <P, R> boolean warmUpChain(ChainExecutor<P, R> executor, String chainId) throws Exception {
+        List<String> unsafeHandlers = executor.getChainRegistry().buildChain(chainId).stream()
+            .filter(handler -> !isWarmUpSafe(handler))
+            .map(handler -> handler.getClass().getSimpleName())
+            .collect(Collectors.toList());
+        if (!unsafeHandlers.isEmpty()) {
+            log.info("Skip warm-up of chain {}: handlers {} are not declared warmUpSafe", chainId, unsafeHandlers);
+            return false;
+        }
+
+        TokenBucketRateLimiter rateLimiter = executor.getRateLimiters().remove(chainId);
+        try {
+            return warmUpChainUnthrottled(executor, chainId);
+        } finally {
+            if (rateLimiter != null) {
+                executor.setRateLimiter(chainId, rateLimiter);
+            }
+        }
+    }
+
+    private <P, R> boolean warmUpChainUnthrottled(ChainExecutor<P, R> executor, String chainId) throws Exception {
+        long start = System.nanoTime();
+        int executed = 0;
+        for (int i = 0; i < iterations; i++) {
+            HandlerContext<P, R> context = createContext(chainId);
+            if (context == null) {
+                log.debug("No warm-up context for chain {}, skipped", chainId);
+                return false;
+            }
+            context.setAttribute(WARM_UP, Boolean.TRUE);
+            executed++;
+            try {
+                executor.execute(chainId, context);
+            } catch (Exception e) {
+                if (failOnError) {
+                    throw e;
+                }
+                // 样例出错时后续调用大概率同样出错，记录一次原因后停止预热该链
+                log.warn("Warm-up of chain {} stopped after a failure at iteration {}", chainId, executed, e);
+                break;
+            }
+        }
+        log.info("Warmed up chain {} with {} iterations in {} ms", chainId, executed,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return true;
+    }
+
+    private static boolean isWarmUpSafe(BaseHandler<?, ?> handler) {
+        ChainHandler annotation = AnnotationUtils.findAnnotation(handler.getClass(), ChainHandler.class);
+        return annotation != null && annotation.warmUpSafe();
+    }
+
+    /**
+     * 创建预热上下文，提供者按链ID创建上下文，其泛型参数与该链一致
+     */
+    @SuppressWarnings("unchecked")
+    private <P, R> HandlerContext<P, R> createContext(String chainId) {
+        for (ChainWarmUpProvider provider : providers) {
+            HandlerContext<?, ?> context = provider.createContext(chainId);
+            if (context != null) {
+                return (HandlerContext<P, R>) context;
+            }
+        }
+        return null;
+    }
+
+    public long getLastWarmUpMillis() {
+        return lastWarmUpMillis;
+    }
+}
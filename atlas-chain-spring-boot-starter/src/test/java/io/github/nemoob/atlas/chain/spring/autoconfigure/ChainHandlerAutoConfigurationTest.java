@@ -0,0 +1,64 @@
+package io.github.nemoob.atlas.chain.spring.autoconfigure;
+
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import io.github.nemoob.atlas.chain.core.executor.ChainExecutor;
+import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.registry.ChainRegistry;
+import io.github.nemoob.atlas.chain.spring.properties.ChainHandlerProperties;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 自动配置测试类
+ */
+public class ChainHandlerAutoConfigurationTest {
+    private final ChainHandlerAutoConfiguration configuration = new ChainHandlerAutoConfiguration();
+
+    @Test
+    public void testForkJoinExecutorRunsNestedSubChainsDeeperThanParallelism() throws Exception {
+        ChainHandlerProperties properties = new ChainHandlerProperties();
+        properties.setExecutorType(ChainHandlerProperties.ExecutorType.FORK_JOIN);
+        properties.setForkJoinParallelism(2);
+
+        ExecutorService executorService = configuration.handlerExecutorService(properties);
+        assertTrue(executorService instanceof ForkJoinPool);
+        assertEquals(2, ((ForkJoinPool) executorService).getParallelism());
+
+        ChainRegistry<Integer, Integer> registry = new ChainRegistry<>();
+        ChainExecutor<Integer, Integer> chainExecutor = new ChainExecutor<>(registry, executorService);
+        // 每层串行等待下一层子链，嵌套深度超过工作线程数
+        registry.registerHandler("nested", new BaseHandler<Integer, Integer>() {
+            @Override
+            public boolean doHandle(HandlerContext<Integer, Integer> context) {
+                int depth = context.getRequest();
+                if (depth == 0) {
+                    context.setResponse(0);
+                    return true;
+                }
+                ForkJoinTask<Integer> child = chainExecutor.forkSubChain("nested", new HandlerContext<>(depth - 1, null));
+                context.setResponse(child.join() + 1);
+                return true;
+            }
+        });
+        try {
+            assertEquals(Integer.valueOf(5),
+                chainExecutor.executeAsync("nested", new HandlerContext<>(5, null)).get(10, TimeUnit.SECONDS));
+        } finally {
+            chainExecutor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testForkJoinWithPriorityFailsFast() {
+        ChainHandlerProperties properties = new ChainHandlerProperties();
+        properties.setExecutorType(ChainHandlerProperties.ExecutorType.FORK_JOIN);
+        properties.getPriority().setEnabled(true);
+        configuration.handlerExecutorService(properties);
+    }
+}
@@ -0,0 +1,150 @@
+package io.github.nemoob.atlas.chain.spring.warmup;
+
+import io.github.nemoob.atlas.chain.core.context.HandlerContext;
+import io.github.nemoob.atlas.chain.core.executor.ChainExecutor;
+import io.github.nemoob.atlas.chain.core.handler.BaseHandler;
+import io.github.nemoob.atlas.chain.core.limiter.TokenBucketRateLimiter;
+import io.github.nemoob.atlas.chain.core.registry.ChainRegistry;
+import io.github.nemoob.atlas.chain.spring.annotation.ChainHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 启动预热执行器测试类
+ */
+public class ChainWarmUpRunnerTest {
+    private static final int ITERATIONS = 20;
+
+    private ChainRegistry<String, String> registry;
+    private ChainExecutor<String, String> chainExecutor;
+
+    @Before
+    public void setUp() {
+        registry = new ChainRegistry<>();
+        chainExecutor = new ChainExecutor<>(registry);
+    }
+
+    @After
+    public void tearDown() {
+        chainExecutor.shutdown();
+    }
+
+    @Test
+    public void testWarmsOnlyChainsWithContext() throws Exception {
+        SafeHandler warmed = new SafeHandler();
+        SafeHandler skipped = new SafeHandler();
+        registry.registerHandler("warmed", warmed);
+        registry.registerHandler("no-context", skipped);
+
+        ChainWarmUpRunner runner = runner(false, chainId -> "warmed".equals(chainId)
+            ? new HandlerContext<>("sample", null) : null);
+        assertEquals(-1, runner.getLastWarmUpMillis());
+        runner.run(new DefaultApplicationArguments());
+
+        assertEquals(ITERATIONS, warmed.calls.get());
+        assertEquals(ITERATIONS, warmed.warmUpCalls.get());
+        assertEquals(0, skipped.calls.get());
+        assertTrue(runner.getLastWarmUpMillis() >= 0);
+    }
+
+    @Test
+    public void testSkipsChainWithHandlerNotDeclaredWarmUpSafe() throws Exception {
+        SafeHandler safe = new SafeHandler();
+        UnsafeHandler unsafe = new UnsafeHandler();
+        registry.registerHandler("mixed", safe);
+        registry.registerHandler("mixed", unsafe);
+
+        runner(false, chainId -> new HandlerContext<>("sample", null)).run(new DefaultApplicationArguments());
+
+        assertEquals(0, safe.calls.get());
+        assertEquals(0, unsafe.calls.get());
+    }
+
+    @Test
+    public void testFailureStopsChainWarmUpOnce() throws Exception {
+        FailingHandler failing = new FailingHandler();
+        SafeHandler other = new SafeHandler();
+        registry.registerHandler("failing", failing);
+        registry.registerHandler("other", other);
+
+        runner(false, chainId -> new HandlerContext<>("sample", null)).run(new DefaultApplicationArguments());
+
+        // 第一次出错后停止预热该链，其他链不受影响
+        assertEquals(1, failing.calls.get());
+        assertEquals(ITERATIONS, other.calls.get());
+    }
+
+    @Test
+    public void testWarmUpDoesNotConsumeRateLimitPermits() throws Exception {
+        SafeHandler handler = new SafeHandler();
+        registry.registerHandler("limited", handler);
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(0.001, 1);
+        chainExecutor.setRateLimiter("limited", rateLimiter);
+
+        runner(false, chainId -> new HandlerContext<>("sample", null)).run(new DefaultApplicationArguments());
+
+        // 预热期间限流器被暂时移除，结束后恢复，唯一的许可仍留给真实请求
+        assertEquals(ITERATIONS, handler.calls.get());
+        assertSame(rateLimiter, chainExecutor.getRateLimiter("limited"));
+        assertEquals(0, rateLimiter.getPermittedCount());
+        assertEquals(0, rateLimiter.getRejectedCount());
+
+        chainExecutor.execute("limited", new HandlerContext<>("sample", null));
+        assertEquals(1, rateLimiter.getPermittedCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFailOnErrorRethrows() throws Exception {
+        registry.registerHandler("failing", new FailingHandler());
+
+        runner(true, chainId -> new HandlerContext<>("sample", null)).run(new DefaultApplicationArguments());
+    }
+
+    private ChainWarmUpRunner runner(boolean failOnError, ChainWarmUpProvider provider) {
+        return new ChainWarmUpRunner(chainExecutor, Collections.singletonList(provider), ITERATIONS, failOnError);
+    }
+
+    @ChainHandler(value = "test", warmUpSafe = true)
+    private static class SafeHandler extends BaseHandler<String, String> {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger warmUpCalls = new AtomicInteger();
+
+        @Override
+        public boolean doHandle(HandlerContext<String, String> context) {
+            calls.incrementAndGet();
+            if (ChainWarmUpRunner.isWarmUp(context)) {
+                warmUpCalls.incrementAndGet();
+            }
+            return true;
+        }
+    }
+
+    @ChainHandler("test")
+    private static class UnsafeHandler extends BaseHandler<String, String> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public boolean doHandle(HandlerContext<String, String> context) {
+            calls.incrementAndGet();
+            return true;
+        }
+    }
+
+    @ChainHandler(value = "test", warmUpSafe = true)
+    private static class FailingHandler extends BaseHandler<String, String> {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public boolean doHandle(HandlerContext<String, String> context) {
+            calls.incrementAndGet();
+            throw new IllegalStateException("bad sample");
+        }
+    }
+}